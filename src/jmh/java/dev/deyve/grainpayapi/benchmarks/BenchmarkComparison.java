@@ -0,0 +1,83 @@
+package dev.deyve.grainpayapi.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Compares a JMH JSON result with a baseline from an earlier run (e.g. the main branch)
+ * and exits with status 1 when any benchmark present in both got worse by more than the
+ * tolerance. Time scores ({@code .../op}) regress when they grow, throughput scores
+ * ({@code ops/...}) when they shrink. Benchmarks are matched by name and parameters.
+ *
+ * <p>Usage: {@code BenchmarkComparison <baseline.json> <current.json> [tolerance, default 0.10]}
+ *
+ * <p>Scores depend on the machine, so no baseline is committed: it has to be recorded on
+ * the same machine, from the reference branch, before comparing.
+ */
+public class BenchmarkComparison {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: BenchmarkComparison <baseline.json> <current.json> [tolerance]");
+            System.exit(2);
+        }
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 0.10;
+        if (!Files.exists(Path.of(args[0]))) {
+            System.err.println("No baseline at " + args[0] + ": run the benchmarks on the reference branch "
+                    + "and copy target/jmh-result.json there first");
+            System.exit(2);
+        }
+
+        Map<String, JsonNode> baseline = read(Path.of(args[0]));
+        Map<String, JsonNode> current = read(Path.of(args[1]));
+
+        int regressions = 0;
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("NEW        %-90s %12.3f%n", entry.getKey(), score(entry.getValue()));
+                continue;
+            }
+
+            double change = (score(entry.getValue()) - score(before)) / score(before);
+            boolean higherIsBetter = unit(entry.getValue()).startsWith("ops/");
+            boolean regressed = higherIsBetter ? change < -tolerance : change > tolerance;
+            if (regressed) regressions++;
+
+            System.out.printf("%-10s %-90s %12.3f -> %12.3f %s (%+.1f%%)%n", regressed ? "REGRESSED" : "ok",
+                    entry.getKey(), score(before), score(entry.getValue()), unit(entry.getValue()), change * 100);
+        }
+
+        if (regressions > 0) {
+            System.out.printf("%d benchmark(s) regressed by more than %.0f%%%n", regressions, tolerance * 100);
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> read(Path file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file.toFile())) {
+            Map<String, String> params = new TreeMap<>();
+            result.path("params").properties().forEach(p -> params.put(p.getKey(), p.getValue().asText()));
+            String key = result.get("benchmark").asText().replace("dev.deyve.grainpayapi.benchmarks.", "")
+                    + " [" + result.get("mode").asText() + "]" + (params.isEmpty() ? "" : " " + params);
+            results.put(key, result);
+        }
+        return results;
+    }
+
+    private static double score(JsonNode result) {
+        return result.get("primaryMetric").get("score").asDouble();
+    }
+
+    private static String unit(JsonNode result) {
+        return result.get("primaryMetric").get("scoreUnit").asText();
+    }
+}
@@ -0,0 +1,130 @@
+package dev.deyve.grainpayapi.benchmarks;
+
+import dev.deyve.grainpayapi.dtos.ImportResultResponse;
+import dev.deyve.grainpayapi.models.Account;
+import dev.deyve.grainpayapi.models.Category;
+import dev.deyve.grainpayapi.models.Transaction;
+import dev.deyve.grainpayapi.models.User;
+import dev.deyve.grainpayapi.repositories.AccountRepository;
+import dev.deyve.grainpayapi.repositories.CategoryRepository;
+import dev.deyve.grainpayapi.repositories.TransactionBulkInserter;
+import dev.deyve.grainpayapi.repositories.TransactionRepository;
+import dev.deyve.grainpayapi.services.ImportService;
+import dev.deyve.grainpayapi.services.TenantUsageTracker;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs a 100k-line statement through {@link ImportService#importCsvInChunks} with the
+ * database left out: every line is parsed, classified against 500 categories and 5
+ * accounts and checked against the chunk's fingerprints, while the repositories answer
+ * from memory and the inserter discards the rows. The score is per line.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class ImportParsingBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int CATEGORIES = 500;
+
+    private Path file;
+    private ImportService importService;
+    private User user;
+
+    @Setup
+    public void generate() throws IOException {
+        Random random = new Random(7);
+        List<Category> categories = new ArrayList<>(CATEGORIES);
+        for (int i = 0; i < CATEGORIES; i++) {
+            Category category = new Category();
+            category.setId((long) i);
+            category.setName("Categoria " + i);
+            categories.add(category);
+        }
+        List<Account> accounts = new ArrayList<>();
+        for (String name : List.of("Nubank", "Itaú", "Inter", "Caixa", "Carteira")) {
+            Account account = new Account();
+            account.setId((long) accounts.size());
+            account.setName(name);
+            accounts.add(account);
+        }
+
+        file = Files.createTempFile("import-benchmark", ".csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("date,description,amount\n");
+            LocalDate firstDay = LocalDate.of(2025, 1, 1);
+            for (int i = 0; i < ROWS; i++) {
+                String description = "PIX ENVIADO " + (100000 + random.nextInt(900000));
+                if (i % 3 == 0) description += " CATEGORIA " + random.nextInt(CATEGORIES);
+                if (i % 5 == 0) description += " " + accounts.get(random.nextInt(accounts.size())).getName().toUpperCase();
+                writer.write(firstDay.plusDays(i % 365) + "," + description + "," + (i % 2 == 0 ? "-" : "") + (i % 900 + 1) + ".50\n");
+            }
+        }
+
+        TransactionBulkInserter discardingInserter = new TransactionBulkInserter(null) {
+            @Override
+            public void insertAll(List<Transaction> transactions) {
+            }
+        };
+        importService = new ImportService(
+                RepositoryStubs.stub(TransactionRepository.class, Map.of("findFingerprints", List.of())),
+                RepositoryStubs.stub(CategoryRepository.class, Map.of("findAllByUserIdOrderByNameAsc", categories)),
+                RepositoryStubs.stub(AccountRepository.class, Map.of("findAllByUserIdOrderByNameAsc", accounts)),
+                discardingInserter,
+                event -> {
+                },
+                new NoTransactionManager(),
+                new TenantUsageTracker(Duration.ofHours(1)));
+        user = new User();
+        user.setId(1L);
+    }
+
+    @TearDown
+    public void delete() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public int importFile() {
+        int[] imported = {0};
+        importService.importCsvInChunks(file, user, 1000, (ImportResultResponse chunk) -> imported[0] += chunk.imported());
+        return imported[0];
+    }
+
+    private static final class NoTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package dev.deyve.grainpayapi.benchmarks;
+
+import dev.deyve.grainpayapi.models.User;
+import dev.deyve.grainpayapi.models.UserRole;
+import dev.deyve.grainpayapi.security.JwtService;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signs a token, as login does, and parses and verifies one, as {@code JwtAuthFilter}
+ * does only when the token misses the principal cache. {@code parseClaims} is the cost of
+ * that miss, not of every authenticated request: a cached token skips it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "YmVuY2htYXJrLXNlY3JldC1iZW5jaG1hcmstc2VjcmV0LTEyMzQ1Njc4OTA=";
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void sign() {
+        jwtService = new JwtService(SECRET, 86_400_000L);
+        user = new User();
+        user.setId(42L);
+        user.setEmail("benchmark@grainpay.dev");
+        user.setRole(UserRole.USER);
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims parseClaims() {
+        return jwtService.parseClaims(token);
+    }
+}
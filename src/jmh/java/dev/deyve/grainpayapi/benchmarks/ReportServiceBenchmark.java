@@ -0,0 +1,80 @@
+package dev.deyve.grainpayapi.benchmarks;
+
+import dev.deyve.grainpayapi.dtos.CategoryReportItem;
+import dev.deyve.grainpayapi.dtos.MonthlyReportItem;
+import dev.deyve.grainpayapi.dtos.YearlyReportItem;
+import dev.deyve.grainpayapi.models.TransactionType;
+import dev.deyve.grainpayapi.models.User;
+import dev.deyve.grainpayapi.repositories.MonthlyRollupRepository;
+import dev.deyve.grainpayapi.services.ReportService;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Folds the rollup rows of each report into its response: 12 months, 10 years and
+ * {@code categories} categories, each with an income and an expense row. The
+ * repository answers from memory, so only the service's own work is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class ReportServiceBenchmark {
+
+    private static final int YEARS = 10;
+
+    @Param({"50", "500"})
+    public int categories;
+
+    private ReportService reportService;
+    private User user;
+
+    @Setup
+    public void stubRollups() {
+        List<Object[]> byMonth = new ArrayList<>();
+        for (int month = 1; month <= 12; month++) {
+            byMonth.add(new Object[]{month, TransactionType.INCOME, BigDecimal.valueOf(5000 + month, 2)});
+            byMonth.add(new Object[]{month, TransactionType.EXPENSE, BigDecimal.valueOf(3000 + month, 2)});
+        }
+        List<Object[]> byYear = new ArrayList<>();
+        for (int year = 2026 - YEARS; year < 2026; year++) {
+            byYear.add(new Object[]{year, TransactionType.INCOME, BigDecimal.valueOf(60000 + year, 2)});
+            byYear.add(new Object[]{year, TransactionType.EXPENSE, BigDecimal.valueOf(40000 + year, 2)});
+        }
+        List<Object[]> byCategory = new ArrayList<>();
+        for (int i = 0; i < categories; i++) {
+            byCategory.add(new Object[]{"Categoria " + i, TransactionType.INCOME, BigDecimal.valueOf(100 + i, 2)});
+            byCategory.add(new Object[]{"Categoria " + i, TransactionType.EXPENSE, BigDecimal.valueOf(200 + i, 2)});
+        }
+
+        reportService = new ReportService(RepositoryStubs.stub(MonthlyRollupRepository.class, Map.of(
+                "sumByMonthAndType", byMonth,
+                "sumByYearAndType", byYear,
+                "sumByCategoryAndType", byCategory)));
+        user = new User();
+        user.setId(1L);
+    }
+
+    @Benchmark
+    public List<MonthlyReportItem> monthlyReport() {
+        return reportService.getMonthlyReport(2025, user);
+    }
+
+    @Benchmark
+    public List<YearlyReportItem> yearlyReport() {
+        return reportService.getYearlyReport(user);
+    }
+
+    @Benchmark
+    public List<CategoryReportItem> categoryReport() {
+        return reportService.getCategoryReport(YearMonth.of(2025, 1), user);
+    }
+}
@@ -0,0 +1,30 @@
+package dev.deyve.grainpayapi.benchmarks;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+
+/**
+ * Repository interfaces answered from memory, so a service's own work can be measured
+ * without a database. Each method returns the value registered under its name; methods
+ * not registered fail, which keeps a benchmark from silently measuring a {@code null}.
+ */
+final class RepositoryStubs {
+
+    private RepositoryStubs() {
+    }
+
+    static <T> T stub(Class<T> repository, Map<String, Object> results) {
+        return repository.cast(Proxy.newProxyInstance(repository.getClassLoader(), new Class<?>[]{repository},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "toString" -> repository.getSimpleName() + " stub";
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    default -> {
+                        if (!results.containsKey(method.getName())) {
+                            throw new UnsupportedOperationException(method.getName() + " is not stubbed");
+                        }
+                        yield results.get(method.getName());
+                    }
+                }));
+    }
+}
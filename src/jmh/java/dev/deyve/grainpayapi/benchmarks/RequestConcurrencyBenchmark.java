@@ -0,0 +1,120 @@
+package dev.deyve.grainpayapi.benchmarks;
+
+import dev.deyve.grainpayapi.GrainPayApiApplication;
+import dev.deyve.grainpayapi.repositories.UserRepository;
+import dev.deyve.grainpayapi.security.JwtService;
+import dev.deyve.grainpayapi.services.MonthlyRollupService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 2000 concurrent clients calling the running application over HTTP, once on Tomcat's
+ * platform-thread pool and once on virtual threads ({@code spring.threads.virtual.enabled}).
+ * Throughput counts every response; {@code ok} and {@code rejected} split it into 2xx and
+ * {@code 503}s shed by the connection limit. The sample-time run gives p99.
+ *
+ * <p>Both endpoints hit the database on every request: the transactions are seeded with
+ * their monthly rollups, and the dashboard cache is off, so the summary is read from
+ * {@code monthly_rollups} each time rather than from memory.
+ *
+ * <p>The application and the clients share the forked JVM, so compare the two modes with
+ * each other rather than with a production host. Connects with the same
+ * {@code POSTGRES_DATASOURCE_*} variables as the application; the database must be migrated.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(value = 1)
+@Threads(2000)
+@State(Scope.Benchmark)
+public class RequestConcurrencyBenchmark {
+
+    private static final String EMAIL = "concurrency-benchmark@grainpay.dev";
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"/api/transactions?size=20", "/api/dashboard/summary?month=2025-01"})
+    public String path;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup
+    public void start() {
+        context = new SpringApplicationBuilder(GrainPayApiApplication.class)
+                .profiles("dev")
+                .properties(
+                        "PORT=0",
+                        "JWT_SECRET=" + System.getenv().getOrDefault("JWT_SECRET",
+                                "YmVuY2htYXJrLXNlY3JldC1iZW5jaG1hcmstc2VjcmV0LTEyMzQ1Njc4OTA="),
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "dashboard.cache.max-size=0",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run();
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("""
+                INSERT INTO users (name, email, password, role, created_at, updated_at)
+                VALUES ('benchmark', ?, 'x', 'USER', now(), now())
+                ON CONFLICT (email) DO NOTHING
+                """, EMAIL);
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", Long.class, EMAIL);
+        jdbcTemplate.update("""
+                INSERT INTO transactions (type, amount, date, description, user_id, created_at, updated_at)
+                SELECT 'EXPENSE', g, DATE '2025-01-01' + g % 28, 'transaction ' || g, ?, now(), now()
+                FROM generate_series(1, 200) g
+                WHERE NOT EXISTS (SELECT 1 FROM transactions WHERE user_id = ?)
+                """, userId, userId);
+        // Raw inserts bypass the rollup deltas the services apply
+        context.getBean(MonthlyRollupService.class).rebuild();
+
+        String token = context.getBean(JwtService.class)
+                .generateToken(context.getBean(UserRepository.class).findByEmail(EMAIL).orElseThrow());
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(60))
+                .build();
+    }
+
+    @TearDown
+    public void stop() {
+        client.close();
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long ok;
+        public long rejected;
+    }
+
+    @Benchmark
+    public int get(Outcomes outcomes) throws IOException, InterruptedException {
+        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        if (status < 300) {
+            outcomes.ok++;
+        } else if (status == 503) {
+            outcomes.rejected++;
+        }
+        return status;
+    }
+}
@@ -0,0 +1,65 @@
+package dev.deyve.grainpayapi.benchmarks;
+
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.IterationParams;
+import org.openjdk.jmh.profile.InternalProfiler;
+import org.openjdk.jmh.results.AggregationPolicy;
+import org.openjdk.jmh.results.IterationResult;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.ScalarResult;
+import org.openjdk.jmh.runner.IterationType;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Adds two secondary results to every measured iteration, enabled with
+ * {@code -prof dev.deyve.grainpayapi.benchmarks.RowCostProfiler}:
+ * <ul>
+ *     <li>{@code peakHeap}: sum of the heap pools' peak usage, in MB (worst iteration wins)</li>
+ *     <li>{@code timePer10kRows}: primary score divided by {@code rows / 10000}, for
+ *     single-shot benchmarks with a {@code rows} parameter</li>
+ * </ul>
+ */
+public class RowCostProfiler implements InternalProfiler {
+
+    @Override
+    public String getDescription() {
+        return "Peak heap and time per 10k rows";
+    }
+
+    @Override
+    public void beforeIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams) {
+        System.gc();
+        heapPools().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    @Override
+    public Collection<? extends Result> afterIteration(BenchmarkParams benchmarkParams, IterationParams iterationParams,
+                                                       IterationResult result) {
+        List<Result> results = new ArrayList<>();
+        if (iterationParams.getType() != IterationType.MEASUREMENT) {
+            return results;
+        }
+
+        long peakBytes = heapPools().stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        results.add(new ScalarResult("peakHeap", peakBytes / (1024.0 * 1024.0), "MB", AggregationPolicy.MAX));
+
+        String rows = benchmarkParams.getParam("rows");
+        if (rows != null) {
+            double per10k = result.getPrimaryResult().getScore() / (Integer.parseInt(rows) / 10_000.0);
+            results.add(new ScalarResult("timePer10kRows", per10k, result.getScoreUnit(), AggregationPolicy.AVG));
+        }
+        return results;
+    }
+
+    private static List<MemoryPoolMXBean> heapPools() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+    }
+}
@@ -0,0 +1,131 @@
+package dev.deyve.grainpayapi.benchmarks;
+
+import dev.deyve.grainpayapi.models.PaymentType;
+import dev.deyve.grainpayapi.models.Transaction;
+import dev.deyve.grainpayapi.models.TransactionType;
+import dev.deyve.grainpayapi.models.User;
+import dev.deyve.grainpayapi.repositories.TransactionBulkInserter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts one import batch of transactions against a migrated PostgreSQL database,
+ * comparing a row-by-row {@code INSERT ... RETURNING id} (what IDENTITY ids forced on
+ * Hibernate) with {@link TransactionBulkInserter}. Each invocation is rolled back, so
+ * the table does not grow between iterations. The score is rows per second.
+ *
+ * <p>Connects with the same {@code POSTGRES_DATASOURCE_*} variables as the application.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class TransactionInsertBenchmark {
+
+    private static final int ROWS = 5000;
+
+    private static final String ROW_BY_ROW_SQL = "INSERT INTO transactions " +
+            "(type, amount, date, description, payment_type, user_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, now(), now()) RETURNING id";
+
+    private SingleConnectionDataSource dataSource;
+    private Connection connection;
+    private TransactionBulkInserter bulkInserter;
+    private User user;
+
+    @Setup
+    public void connect() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", System.getenv("POSTGRES_DATASOURCE_USERNAME"));
+        properties.setProperty("password", System.getenv("POSTGRES_DATASOURCE_PASSWORD"));
+        properties.setProperty("reWriteBatchedInserts", "true");
+
+        dataSource = new SingleConnectionDataSource(System.getenv("POSTGRES_DATASOURCE_URL"), true);
+        dataSource.setConnectionProperties(properties);
+        dataSource.setAutoCommit(false);
+        connection = dataSource.getConnection();
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        bulkInserter = new TransactionBulkInserter(jdbcTemplate);
+
+        jdbcTemplate.update("""
+                INSERT INTO users (name, email, password, role, created_at, updated_at)
+                VALUES ('benchmark', 'benchmark@grainpay.dev', 'x', 'USER', now(), now())
+                ON CONFLICT (email) DO NOTHING
+                """);
+        user = new User();
+        user.setId(jdbcTemplate.queryForObject(
+                "SELECT id FROM users WHERE email = 'benchmark@grainpay.dev'", Long.class));
+        connection.commit();
+    }
+
+    @TearDown
+    public void close() {
+        dataSource.destroy();
+    }
+
+    @TearDown(Level.Invocation)
+    public void rollback() throws SQLException {
+        connection.rollback();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long rowByRow() throws SQLException {
+        long lastId = 0;
+        try (PreparedStatement ps = connection.prepareStatement(ROW_BY_ROW_SQL)) {
+            for (Transaction t : transactions()) {
+                ps.setString(1, t.getType().name());
+                ps.setBigDecimal(2, t.getAmount());
+                ps.setDate(3, Date.valueOf(t.getDate()));
+                ps.setString(4, t.getDescription());
+                ps.setString(5, t.getPaymentType().name());
+                ps.setLong(6, user.getId());
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    lastId = rs.getLong(1);
+                }
+            }
+        }
+        return lastId;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long bulkInsert() {
+        List<Transaction> transactions = transactions();
+        bulkInserter.insertAll(transactions);
+        return transactions.get(ROWS - 1).getId();
+    }
+
+    private List<Transaction> transactions() {
+        LocalDate firstDay = LocalDate.of(2025, 1, 1);
+        List<Transaction> transactions = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Transaction t = new Transaction();
+            t.setType(i % 3 == 0 ? TransactionType.INCOME : TransactionType.EXPENSE);
+            t.setAmount(BigDecimal.valueOf(i % 5000 + 1, 2));
+            t.setDate(firstDay.plusDays(i % 365));
+            t.setDescription("Imported transaction " + i);
+            t.setPaymentType(PaymentType.PIX);
+            t.setUser(user);
+            transactions.add(t);
+        }
+        return transactions;
+    }
+}
@@ -0,0 +1,59 @@
+package dev.deyve.grainpayapi.benchmarks;
+
+import dev.deyve.grainpayapi.dtos.TransactionExportRow;
+import dev.deyve.grainpayapi.models.PaymentType;
+import dev.deyve.grainpayapi.models.TransactionType;
+import dev.deyve.grainpayapi.services.TransactionPdfWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders statements of 10k and 100k rows into a discarding stream under a fixed
+ * 128 MB heap. Rows are generated lazily, like the database cursor feeding the real
+ * export. Peak heap and time per 10k rows come from {@link RowCostProfiler}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx128m")
+@State(Scope.Benchmark)
+public class TransactionPdfWriterBenchmark {
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private final TransactionPdfWriter writer = new TransactionPdfWriter();
+
+    @Benchmark
+    public void writeStatement() {
+        writer.write("Transactions — benchmark", rows(rows), OutputStream.nullOutputStream());
+    }
+
+    private static Iterator<TransactionExportRow> rows(int count) {
+        LocalDate firstDay = LocalDate.of(2025, 1, 1);
+        return new Iterator<>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            @Override
+            public TransactionExportRow next() {
+                int i = next++;
+                return new TransactionExportRow((long) i, firstDay.plusDays(i % 365),
+                        i % 3 == 0 ? TransactionType.INCOME : TransactionType.EXPENSE,
+                        "Transaction description " + i, BigDecimal.valueOf(i % 5000, 2),
+                        "Category " + (i % 20), PaymentType.PIX, "Account " + (i % 3),
+                        null, null, null);
+            }
+        };
+    }
+}
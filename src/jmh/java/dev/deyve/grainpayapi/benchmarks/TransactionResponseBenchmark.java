@@ -0,0 +1,115 @@
+package dev.deyve.grainpayapi.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.deyve.grainpayapi.dtos.Response;
+import dev.deyve.grainpayapi.dtos.TransactionResponse;
+import dev.deyve.grainpayapi.mappers.AccountMapperImpl;
+import dev.deyve.grainpayapi.mappers.CategoryMapperImpl;
+import dev.deyve.grainpayapi.mappers.TransactionMapper;
+import dev.deyve.grainpayapi.mappers.TransactionMapperImpl;
+import dev.deyve.grainpayapi.models.*;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of 1000 transactions, each with a category, an account and two tags, as the
+ * listing renders it: entity to {@link TransactionResponse} through the MapStruct mapper,
+ * then the {@link Response} envelope to JSON with an {@link ObjectMapper} configured like
+ * Spring Boot's.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class TransactionResponseBenchmark {
+
+    @Param({"1000"})
+    public int pageSize;
+
+    private AnnotationConfigApplicationContext mappers;
+    private TransactionMapper transactionMapper;
+    private ObjectMapper objectMapper;
+    private List<Transaction> page;
+    private List<TransactionResponse> mapped;
+
+    @Setup
+    public void generate() {
+        mappers = new AnnotationConfigApplicationContext(
+                TransactionMapperImpl.class, CategoryMapperImpl.class, AccountMapperImpl.class);
+        transactionMapper = mappers.getBean(TransactionMapper.class);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        User user = new User();
+        user.setId(1L);
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Category category = new Category();
+            category.setId((long) i);
+            category.setName("Categoria " + i);
+            category.setType(TransactionType.EXPENSE);
+            categories.add(category);
+        }
+        Account account = new Account();
+        account.setId(1L);
+        account.setName("Conta corrente");
+        account.setType(AccountType.CHECKING);
+        account.setBalance(new BigDecimal("1500.00"));
+
+        LocalDateTime now = LocalDateTime.of(2025, 1, 31, 12, 0);
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Transaction t = new Transaction();
+            t.setId((long) i);
+            t.setType(TransactionType.EXPENSE);
+            t.setAmount(BigDecimal.valueOf(i % 5000 + 1, 2));
+            t.setDate(LocalDate.of(2025, 1, 1).plusDays(i % 31));
+            t.setDescription("Compra no cartão " + i);
+            t.setPaymentType(PaymentType.CREDIT_CARD);
+            t.setCategory(categories.get(i % categories.size()));
+            t.setAccount(account);
+            t.setTags(Set.of("mercado", "mensal"));
+            t.setUser(user);
+            t.setCreatedAt(now);
+            t.setUpdatedAt(now);
+            page.add(t);
+        }
+        mapped = toResponses();
+    }
+
+    @TearDown
+    public void close() {
+        mappers.close();
+    }
+
+    @Benchmark
+    public List<TransactionResponse> map() {
+        return toResponses();
+    }
+
+    @Benchmark
+    public void serialize() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), new Response(mapped, 200, "List of transactions"));
+    }
+
+    @Benchmark
+    public void mapAndSerialize() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), new Response(toResponses(), 200, "List of transactions"));
+    }
+
+    private List<TransactionResponse> toResponses() {
+        return page.stream().map(transactionMapper::toResponse).toList();
+    }
+}
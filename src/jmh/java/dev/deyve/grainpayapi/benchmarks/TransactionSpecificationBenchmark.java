@@ -0,0 +1,91 @@
+package dev.deyve.grainpayapi.benchmarks;
+
+import dev.deyve.grainpayapi.dtos.TransactionFilter;
+import dev.deyve.grainpayapi.models.*;
+import dev.deyve.grainpayapi.services.TransactionCursor;
+import dev.deyve.grainpayapi.services.TransactionSpecification;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistry;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the listing's criteria predicate from {@link TransactionSpecification}: with no
+ * filter, with every filter, and with every filter plus the keyset cursor. Hibernate
+ * boots with the PostgreSQL dialect and never connects, so only predicate construction
+ * is measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class TransactionSpecificationBenchmark {
+
+    private static final TransactionFilter NO_FILTER = new TransactionFilter(null, null, null, null, null, null, null);
+    private static final TransactionFilter ALL_FILTERS = new TransactionFilter(TransactionType.EXPENSE,
+            LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), 7L, PaymentType.PIX,
+            new BigDecimal("10.00"), new BigDecimal("500.00"));
+    private static final TransactionCursor CURSOR = new TransactionCursor(LocalDate.of(2025, 1, 15), 123_456L);
+
+    private StandardServiceRegistry registry;
+    private SessionFactory sessionFactory;
+    private CriteriaBuilder cb;
+    private User user;
+
+    @Setup
+    public void bootHibernate() {
+        registry = new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.DIALECT, PostgreSQLDialect.class.getName())
+                .applySetting(AvailableSettings.ALLOW_METADATA_ON_BOOT, false)
+                .build();
+        sessionFactory = new MetadataSources(registry)
+                .addAnnotatedClasses(Transaction.class, Category.class, Account.class, User.class)
+                .buildMetadata()
+                .buildSessionFactory();
+        cb = sessionFactory.getCriteriaBuilder();
+        user = new User();
+        user.setId(1L);
+    }
+
+    @TearDown
+    public void close() {
+        sessionFactory.close();
+        StandardServiceRegistryBuilder.destroy(registry);
+    }
+
+    @Benchmark
+    public Predicate noFilter() {
+        return toPredicate(TransactionSpecification.withFilters(NO_FILTER, user));
+    }
+
+    @Benchmark
+    public Predicate allFilters() {
+        return toPredicate(TransactionSpecification.withFilters(ALL_FILTERS, user));
+    }
+
+    @Benchmark
+    public Predicate allFiltersAfterCursor() {
+        return toPredicate(TransactionSpecification.withFilters(ALL_FILTERS, user)
+                .and(TransactionSpecification.after(CURSOR)));
+    }
+
+    private Predicate toPredicate(Specification<Transaction> spec) {
+        CriteriaQuery<Transaction> query = cb.createQuery(Transaction.class);
+        Root<Transaction> root = query.from(Transaction.class);
+        return spec.toPredicate(root, query, cb);
+    }
+}
@@ -0,0 +1,68 @@
+package dev.deyve.grainpayapi.config;
+
+import dev.deyve.grainpayapi.models.User;
+import dev.deyve.grainpayapi.services.UserDataVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * Conditional GETs for the read endpoints registered in {@link WebConfig}. The ETag is
+ * derived from the user's data version, the URL and the current date (some endpoints
+ * default to the current year), so it is known before the handler runs: a matching
+ * {@code If-None-Match} is answered with 304 straight away, with no query besides the
+ * version lookup and no serialization. Otherwise the tag is left on the request for
+ * {@link ETagResponseAdvice} to send with the response.
+ */
+@Component
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    static final String ETAG_ATTRIBUTE = ConditionalGetInterceptor.class.getName() + ".etag";
+    static final String CACHE_CONTROL = "private, no-cache";
+
+    private final UserDataVersionService dataVersionService;
+
+    public ConditionalGetInterceptor(UserDataVersionService dataVersionService) {
+        this.dataVersionService = dataVersionService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) return true;
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof User user)) return true;
+
+        String etag = etag(user.getId(), dataVersionService.current(user.getId()), request);
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader(HttpHeaders.ETAG, etag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+            return false;
+        }
+
+        request.setAttribute(ETAG_ATTRIBUTE, etag);
+        return true;
+    }
+
+    static String etag(Long userId, long version, HttpServletRequest request) {
+        int target = Objects.hash(userId, request.getRequestURI(), request.getQueryString(), LocalDate.now());
+        return "\"" + version + "-" + Integer.toHexString(target) + "\"";
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag)) return true;
+        }
+        return false;
+    }
+}
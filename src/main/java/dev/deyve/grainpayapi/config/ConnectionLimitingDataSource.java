@@ -0,0 +1,99 @@
+package dev.deyve.grainpayapi.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hands out at most {@code permits} connections (the pool size) and lets at most
+ * {@code maxWaiting} callers queue for one, each for up to {@code timeout}. Past that,
+ * {@link #getConnection()} fails right away with {@link SQLTransientConnectionException}
+ * instead of adding one more waiter to the pool, so a burst of virtual threads is shed
+ * as {@code 503} responses rather than piling up until the pool's own timeout.
+ *
+ * <p>The permit is returned when the connection is closed, i.e. handed back to the pool.
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxWaiting;
+    private final long timeoutNanos;
+
+    public ConnectionLimitingDataSource(DataSource target, int permits, int maxWaiting, Duration timeout) {
+        super(target);
+        this.permits = new Semaphore(permits, true);
+        this.maxWaiting = maxWaiting;
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return guarded(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return guarded(() -> super.getConnection(username, password));
+    }
+
+    private void acquire() throws SQLException {
+        if (!permits.tryAcquire()) {
+            if (permits.getQueueLength() >= maxWaiting) {
+                throw new SQLTransientConnectionException("Too many callers waiting for a database connection");
+            }
+            try {
+                if (!permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+                    throw new SQLTransientConnectionException("Timed out waiting for a database connection");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLTransientConnectionException("Interrupted waiting for a database connection", e);
+            }
+        }
+    }
+
+    // Wraps the pooled connection so that closing it, once, gives the permit back
+    private Connection guarded(ConnectionSupplier supplier) throws SQLException {
+        Connection connection;
+        try {
+            connection = supplier.get();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && closed.compareAndSet(false, true)) {
+                        try {
+                            connection.close();
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,37 @@
+package dev.deyve.grainpayapi.config;
+
+import dev.deyve.grainpayapi.dtos.Response;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Sends the ETag computed by {@link ConditionalGetInterceptor} with successful
+ * {@link Response} bodies; errors go out without one.
+ */
+@ControllerAdvice
+public class ETagResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof Response envelope && envelope.status() != null && envelope.status() < 300
+                && request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE) instanceof String etag) {
+            response.getHeaders().setETag(etag);
+            response.getHeaders().setCacheControl(ConditionalGetInterceptor.CACHE_CONTROL);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,43 @@
+package dev.deyve.grainpayapi.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * With {@code db.metrics.query-count-header} on, sends the number of JDBC statements the
+ * request has executed so far as {@value #HEADER}. It is set just before the body is
+ * written, the last moment headers can still change.
+ */
+@ControllerAdvice
+public class QueryCountResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String HEADER = "X-Query-Count";
+
+    private final boolean enabled;
+
+    public QueryCountResponseAdvice(@Value("${db.metrics.query-count-header:false}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return enabled;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats != null) {
+            response.getHeaders().set(HEADER, String.valueOf(stats.statements()));
+        }
+        return body;
+    }
+}
@@ -0,0 +1,82 @@
+package dev.deyve.grainpayapi.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Records into the current {@link RequestQueryStats} how long each {@link #getConnection()}
+ * took, every {@code execute*} call on the connection's statements and how long it ran
+ * (a batch counts once), and every row read with {@link ResultSet#next()}. Connections
+ * taken outside a request are handed out unwrapped, so jobs and workers pay nothing.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource {
+
+    public QueryCountingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats == null) return super.getConnection();
+
+        long start = System.nanoTime();
+        try {
+            return counting(Connection.class, super.getConnection(), stats);
+        } finally {
+            stats.connectionWaited(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        RequestQueryStats stats = RequestQueryStats.current();
+        if (stats == null) return super.getConnection(username, password);
+
+        long start = System.nanoTime();
+        try {
+            return counting(Connection.class, super.getConnection(username, password), stats);
+        } finally {
+            stats.connectionWaited(System.nanoTime() - start);
+        }
+    }
+
+    // Wraps connections, statements and result sets; whatever they return of those types is wrapped in turn
+    @SuppressWarnings("unchecked")
+    private static <T> T counting(Class<T> type, T target, RequestQueryStats stats) {
+        return (T) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    boolean execute = target instanceof Statement && method.getName().startsWith("execute");
+                    long start = execute ? System.nanoTime() : 0;
+
+                    Object result;
+                    try {
+                        result = method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    } finally {
+                        if (execute) stats.statementExecuted(System.nanoTime() - start);
+                    }
+
+                    if (target instanceof ResultSet) {
+                        if (method.getName().equals("next") && Boolean.TRUE.equals(result)) stats.rowFetched();
+                        return result;
+                    }
+                    Class<?> returnType = method.getReturnType();
+                    if (result instanceof Statement && Statement.class.isAssignableFrom(returnType)) {
+                        return counting((Class<Object>) returnType, result, stats);
+                    }
+                    if (result instanceof ResultSet) {
+                        return counting(ResultSet.class, (ResultSet) result, stats);
+                    }
+                    return result;
+                });
+    }
+}
@@ -0,0 +1,27 @@
+package dev.deyve.grainpayapi.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps the application's data source in a {@link QueryCountingDataSource}, outside the
+ * admission limit of {@link VirtualThreadConfig} when that is on, so that the connection
+ * wait recorded per request includes time queued for a permit.
+ */
+@Configuration
+public class QueryMetricsConfig {
+
+    @Bean
+    static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof QueryCountingDataSource) return bean;
+                return new QueryCountingDataSource(dataSource);
+            }
+        };
+    }
+}
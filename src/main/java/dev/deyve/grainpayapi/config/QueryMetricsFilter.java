@@ -0,0 +1,85 @@
+package dev.deyve.grainpayapi.config;
+
+import dev.deyve.grainpayapi.security.JwtAuthFilter;
+import dev.deyve.grainpayapi.services.TenantUsageTracker;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes, per request and tagged like {@code http.server.requests} with {@code method}
+ * and {@code uri}, the JDBC statements executed ({@value #STATEMENTS}), the rows fetched
+ * ({@value #ROWS}) and the time spent waiting for connections ({@value #CONNECTION_WAIT}).
+ * Runs ahead of the security chain so the lookups made while authenticating count too.
+ * Authenticated requests are also charged to their user in {@link TenantUsageTracker}.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class QueryMetricsFilter extends OncePerRequestFilter {
+
+    static final String STATEMENTS = "grainpay.request.statements";
+    static final String ROWS = "grainpay.request.rows";
+    static final String CONNECTION_WAIT = "grainpay.request.connection.wait";
+
+    private final MeterRegistry meterRegistry;
+    private final TenantUsageTracker tenantUsageTracker;
+
+    public QueryMetricsFilter(MeterRegistry meterRegistry, TenantUsageTracker tenantUsageTracker) {
+        this.meterRegistry = meterRegistry;
+        this.tenantUsageTracker = tenantUsageTracker;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        RequestQueryStats stats = RequestQueryStats.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueryStats.end();
+            record(request, stats);
+            if (request.getAttribute(JwtAuthFilter.USER_ID_ATTRIBUTE) instanceof Long userId) {
+                tenantUsageTracker.recordRequest(userId, stats.statements(), stats.rows(), stats.executionNanos());
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, RequestQueryStats stats) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN");
+
+        DistributionSummary.builder(STATEMENTS)
+                .description("JDBC statements executed by a request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.statements());
+        DistributionSummary.builder(ROWS)
+                .description("Rows read from result sets by a request")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.rows());
+        Timer.builder(CONNECTION_WAIT)
+                .description("Time a request spent waiting for database connections")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(stats.connectionWaitNanos(), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,53 @@
+package dev.deyve.grainpayapi.config;
+
+import dev.deyve.grainpayapi.security.JwtAuthFilter;
+import dev.deyve.grainpayapi.services.TenantUsageTracker;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Charges the SQL of work a request hands to another thread to the request's user in
+ * {@link TenantUsageTracker}, as {@link QueryMetricsFilter} does for the request itself.
+ * The user is taken from the submitting request when the task is queued; tasks submitted
+ * outside a request are left alone. Spring Boot applies the only {@link TaskDecorator}
+ * bean to the MVC async executor (streamed exports); the import workers set it on their
+ * own pool.
+ */
+@Component
+public class QueryStatsTaskDecorator implements TaskDecorator {
+
+    private final TenantUsageTracker tenantUsageTracker;
+
+    public QueryStatsTaskDecorator(TenantUsageTracker tenantUsageTracker) {
+        this.tenantUsageTracker = tenantUsageTracker;
+    }
+
+    @Override
+    @NonNull
+    public Runnable decorate(@NonNull Runnable task) {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null
+                || !(request.getAttribute(JwtAuthFilter.USER_ID_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof Long userId)) {
+            return task;
+        }
+
+        return () -> {
+            // Run in place (caller-runs, synchronous executors): already counted by the request
+            if (RequestQueryStats.current() != null) {
+                task.run();
+                return;
+            }
+
+            RequestQueryStats stats = RequestQueryStats.start();
+            try {
+                task.run();
+            } finally {
+                RequestQueryStats.end();
+                tenantUsageTracker.recordBackgroundWork(userId, stats.statements(), stats.rows(), stats.executionNanos());
+            }
+        };
+    }
+}
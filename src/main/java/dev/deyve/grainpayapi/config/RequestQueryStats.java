@@ -0,0 +1,62 @@
+package dev.deyve.grainpayapi.config;
+
+/**
+ * JDBC work done by the request running on the current thread: statements executed, time
+ * spent executing them, rows read from their result sets and time spent waiting for
+ * connections. Started and ended by {@link QueryMetricsFilter}, filled in by
+ * {@link QueryCountingDataSource}. Work the request hands to other threads (streamed
+ * exports, import workers) gets stats of its own from {@link QueryStatsTaskDecorator};
+ * scheduled jobs are not counted.
+ */
+final class RequestQueryStats {
+
+    private static final ThreadLocal<RequestQueryStats> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+    private long executionNanos;
+    private long rows;
+    private long connectionWaitNanos;
+
+    static RequestQueryStats start() {
+        RequestQueryStats stats = new RequestQueryStats();
+        CURRENT.set(stats);
+        return stats;
+    }
+
+    static RequestQueryStats current() {
+        return CURRENT.get();
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    void statementExecuted(long nanos) {
+        statements++;
+        executionNanos += nanos;
+    }
+
+    void rowFetched() {
+        rows++;
+    }
+
+    void connectionWaited(long nanos) {
+        connectionWaitNanos += nanos;
+    }
+
+    int statements() {
+        return statements;
+    }
+
+    long executionNanos() {
+        return executionNanos;
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    long connectionWaitNanos() {
+        return connectionWaitNanos;
+    }
+}
@@ -0,0 +1,33 @@
+package dev.deyve.grainpayapi.config;
+
+import dev.deyve.grainpayapi.dtos.TenantUsageReport;
+import dev.deyve.grainpayapi.services.TenantUsageTracker;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code GET /actuator/tenants?limit=10&sort=db_time}: the users who cost the most within
+ * {@link TenantUsageTracker}'s window. Like the other actuator endpoints but health, it
+ * requires an {@code ADMIN}.
+ */
+@Component
+@Endpoint(id = "tenants")
+public class TenantUsageEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+
+    private final TenantUsageTracker tracker;
+
+    public TenantUsageEndpoint(TenantUsageTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @ReadOperation
+    public TenantUsageReport heavyTenants(@Nullable Integer limit, @Nullable TenantUsageTracker.Metric sort) {
+        TenantUsageTracker.Metric metric = sort != null ? sort : TenantUsageTracker.Metric.DB_TIME;
+        return new TenantUsageReport(tracker.window().toString(), metric.name(),
+                tracker.top(limit != null && limit > 0 ? limit : DEFAULT_LIMIT, metric));
+    }
+}
@@ -0,0 +1,52 @@
+package dev.deyve.grainpayapi.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * With {@code spring.threads.virtual.enabled}, Tomcat, {@code @Scheduled} jobs and the
+ * MVC async executor (streamed exports) run on virtual threads, so the number of requests
+ * in flight is no longer capped by a thread pool. The connection pool becomes the limit:
+ * the pool's data source is wrapped in a {@link ConnectionLimitingDataSource} sized to it.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadConfig.class);
+
+    @Bean
+    static ConnectionLimitingPostProcessor connectionLimitingDataSourcePostProcessor(
+            @Value("${db.admission.max-waiting:200}") int maxWaiting,
+            @Value("${db.admission.timeout:5s}") Duration timeout) {
+        return new ConnectionLimitingPostProcessor(maxWaiting, timeout);
+    }
+
+    // Ordered, and declared as such above, so that it wraps the pool before QueryMetricsConfig wraps the result
+    record ConnectionLimitingPostProcessor(int maxWaiting, Duration timeout) implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource pool)) return bean;
+
+            logger.info("GRAIN-API: Virtual threads enabled — connections={} maxWaiting={} timeout={}",
+                    pool.getMaximumPoolSize(), maxWaiting, timeout);
+            return new ConnectionLimitingDataSource(pool, pool.getMaximumPoolSize(), maxWaiting, timeout);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
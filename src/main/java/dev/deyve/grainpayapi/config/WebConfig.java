@@ -2,6 +2,7 @@ package dev.deyve.grainpayapi.config;
 
 import org.springframework.context.annotation.Configuration;
 import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 import java.time.YearMonth;
@@ -10,9 +11,21 @@ import java.time.format.DateTimeFormatter;
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
 
+    private final ConditionalGetInterceptor conditionalGetInterceptor;
+
+    public WebConfig(ConditionalGetInterceptor conditionalGetInterceptor) {
+        this.conditionalGetInterceptor = conditionalGetInterceptor;
+    }
+
     @Override
     public void addFormatters(FormatterRegistry registry) {
         registry.addConverter(String.class, YearMonth.class,
                 source -> YearMonth.parse(source, DateTimeFormatter.ofPattern("yyyy-MM")));
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(conditionalGetInterceptor)
+                .addPathPatterns("/api/dashboard/**", "/api/reports/**", "/api/budgets/**", "/api/transactions/**");
+    }
 }
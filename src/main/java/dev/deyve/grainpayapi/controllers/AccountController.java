@@ -1,5 +1,6 @@
 package dev.deyve.grainpayapi.controllers;
 
+import dev.deyve.grainpayapi.dtos.AccountBalanceResponse;
 import dev.deyve.grainpayapi.dtos.AccountResponse;
 import dev.deyve.grainpayapi.dtos.CreateAccountRequest;
 import dev.deyve.grainpayapi.dtos.Response;
@@ -12,10 +13,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+
 import static org.springframework.http.HttpStatus.*;
 
 @RestController
@@ -64,6 +68,18 @@ public class AccountController {
         return new ResponseEntity<>(new Response(account, OK.value(), "Account found"), OK);
     }
 
+    @GetMapping("/{id}/balance")
+    public ResponseEntity<Response> balance(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf,
+            @AuthenticationPrincipal User user) {
+
+        LocalDate date = asOf != null ? asOf : LocalDate.now();
+        logger.info("GRAIN-API: Get balance of account {} as of {}", id, date);
+        AccountBalanceResponse balance = accountService.findBalance(id, date, user);
+        return new ResponseEntity<>(new Response(balance, OK.value(), "Account balance"), OK);
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Response> put(
             @PathVariable Long id,
@@ -32,10 +32,11 @@ public class DashboardController {
     @GetMapping("/summary")
     public ResponseEntity<Response> getSummary(
             @RequestParam YearMonth month,
+            @RequestParam(defaultValue = "false") boolean compare,
             @AuthenticationPrincipal User user) {
 
-        logger.info("GRAIN-API: Get dashboard summary month={}", month);
-        DashboardSummaryResponse summary = dashboardService.getSummary(month, user);
+        logger.info("GRAIN-API: Get dashboard summary month={} compare={}", month, compare);
+        DashboardSummaryResponse summary = dashboardService.getSummary(month, compare, user);
         return new ResponseEntity<>(new Response(summary, OK.value(), "Dashboard summary"), OK);
     }
 }
@@ -1,11 +1,11 @@
 package dev.deyve.grainpayapi.controllers;
 
-import com.lowagie.text.DocumentException;
-import dev.deyve.grainpayapi.exceptions.InternalServerError;
+import dev.deyve.grainpayapi.exceptions.BadRequestException;
 import dev.deyve.grainpayapi.models.User;
 import dev.deyve.grainpayapi.services.ExportService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -14,8 +14,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.IOException;
+import java.time.LocalDate;
 import java.time.YearMonth;
 
 @RestController
@@ -31,38 +32,52 @@ public class ExportController {
     }
 
     @GetMapping("/csv")
-    public ResponseEntity<byte[]> exportCsv(
-            @RequestParam YearMonth month,
+    public ResponseEntity<StreamingResponseBody> exportCsv(
+            @RequestParam(required = false) YearMonth month,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
             @AuthenticationPrincipal User user) {
 
-        logger.info("GRAIN-API: Export CSV month={}", month);
-        try {
-            byte[] content = exportService.exportCsv(month, user);
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION,
-                            "attachment; filename=transactions-" + month + ".csv")
-                    .contentType(MediaType.parseMediaType("text/csv"))
-                    .body(content);
-        } catch (IOException e) {
-            throw new InternalServerError("Failed to generate CSV: " + e.getMessage());
-        }
+        ExportRange range = ExportRange.of(month, from, to);
+
+        logger.info("GRAIN-API: Export CSV from={} to={}", range.start(), range.end());
+        StreamingResponseBody body = out -> exportService.writeCsv(range.start(), range.end(), user, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=transactions-" + range.label() + ".csv")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .body(body);
     }
 
     @GetMapping("/pdf")
-    public ResponseEntity<byte[]> exportPdf(
-            @RequestParam YearMonth month,
+    public ResponseEntity<StreamingResponseBody> exportPdf(
+            @RequestParam(required = false) YearMonth month,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
             @AuthenticationPrincipal User user) {
 
-        logger.info("GRAIN-API: Export PDF month={}", month);
-        try {
-            byte[] content = exportService.exportPdf(month, user);
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION,
-                            "attachment; filename=transactions-" + month + ".pdf")
-                    .contentType(MediaType.APPLICATION_PDF)
-                    .body(content);
-        } catch (DocumentException e) {
-            throw new InternalServerError("Failed to generate PDF: " + e.getMessage());
+        ExportRange range = ExportRange.of(month, from, to);
+
+        logger.info("GRAIN-API: Export PDF from={} to={}", range.start(), range.end());
+        StreamingResponseBody body = out -> exportService.writePdf(
+                range.start(), range.end(), "Transactions — " + range.label(), user, out);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=transactions-" + range.label() + ".pdf")
+                .contentType(MediaType.APPLICATION_PDF)
+                .body(body);
+    }
+
+    private record ExportRange(LocalDate start, LocalDate end, String label) {
+
+        static ExportRange of(YearMonth month, LocalDate from, LocalDate to) {
+            if (month != null) {
+                return new ExportRange(month.atDay(1), month.atEndOfMonth(), month.toString());
+            }
+            if (from != null && to != null && !from.isAfter(to)) {
+                return new ExportRange(from, to, from + "_" + to);
+            }
+            throw new BadRequestException("Provide either month or a from/to date range with from <= to");
         }
     }
 }
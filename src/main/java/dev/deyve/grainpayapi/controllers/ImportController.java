@@ -1,19 +1,26 @@
 package dev.deyve.grainpayapi.controllers;
 
+import dev.deyve.grainpayapi.dtos.ImportJobResponse;
 import dev.deyve.grainpayapi.dtos.ImportResultResponse;
 import dev.deyve.grainpayapi.dtos.Response;
 import dev.deyve.grainpayapi.models.User;
+import dev.deyve.grainpayapi.services.ImportJobService;
 import dev.deyve.grainpayapi.services.ImportService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.UUID;
+
+import static org.springframework.http.HttpStatus.ACCEPTED;
 import static org.springframework.http.HttpStatus.OK;
 
 @RestController
@@ -23,23 +30,39 @@ public class ImportController {
     private static final Logger logger = LoggerFactory.getLogger(ImportController.class);
 
     private final ImportService importService;
+    private final ImportJobService importJobService;
 
-    public ImportController(ImportService importService) {
+    public ImportController(ImportService importService, ImportJobService importJobService) {
         this.importService = importService;
+        this.importJobService = importJobService;
     }
 
     @PostMapping(consumes = "multipart/form-data")
     public ResponseEntity<Response> importCsv(
             @RequestParam("file") MultipartFile file,
+            @RequestParam(defaultValue = "false") boolean async,
             @AuthenticationPrincipal User user) {
 
-        logger.info("GRAIN-API: Import CSV filename={} size={}", file.getOriginalFilename(), file.getSize());
+        logger.info("GRAIN-API: Import CSV filename={} size={} async={}", file.getOriginalFilename(), file.getSize(), async);
 
         if (file.isEmpty()) {
             return new ResponseEntity<>(new Response(null, 400, "File is empty"), org.springframework.http.HttpStatus.BAD_REQUEST);
         }
 
+        if (async) {
+            ImportJobResponse job = importJobService.submit(file, user);
+            return new ResponseEntity<>(new Response(job, ACCEPTED.value(), "Import queued"), ACCEPTED);
+        }
+
         ImportResultResponse result = importService.importCsv(file, user);
         return new ResponseEntity<>(new Response(result, OK.value(), "Import completed"), OK);
     }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<Response> findJob(@PathVariable UUID jobId, @AuthenticationPrincipal User user) {
+        logger.info("GRAIN-API: Find import job {}", jobId);
+
+        ImportJobResponse job = importJobService.findById(jobId, user);
+        return new ResponseEntity<>(new Response(job, OK.value(), "Import job found"), OK);
+    }
 }
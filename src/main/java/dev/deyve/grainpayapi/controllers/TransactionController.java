@@ -1,6 +1,7 @@
 package dev.deyve.grainpayapi.controllers;
 
 import dev.deyve.grainpayapi.dtos.CreateTransactionRequest;
+import dev.deyve.grainpayapi.dtos.TransactionCursorPage;
 import dev.deyve.grainpayapi.dtos.Response;
 import dev.deyve.grainpayapi.dtos.TransactionFilter;
 import dev.deyve.grainpayapi.dtos.TransactionResponse;
@@ -50,11 +51,19 @@ public class TransactionController {
             @RequestParam(required = false) PaymentType paymentType,
             @RequestParam(required = false) BigDecimal minAmount,
             @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) String cursor,
             @AuthenticationPrincipal User user) {
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, sort));
         TransactionFilter filter = new TransactionFilter(type, startDate, endDate, categoryId, paymentType, minAmount, maxAmount);
 
+        if (cursor != null) {
+            logger.info("GRAIN-API: Find transactions by cursor size={}", size);
+            TransactionCursorPage transactions = transactionService.findAllByCursor(filter, user, cursor, size);
+            return new ResponseEntity<>(new Response(transactions, OK.value(), "List of transactions"), OK);
+        }
+
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, sort));
+
         logger.info("GRAIN-API: Find transactions page={} size={}", page, size);
 
         Page<TransactionResponse> transactions = transactionService.findAll(filter, user, pageable);
@@ -0,0 +1,11 @@
+package dev.deyve.grainpayapi.dtos;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record AccountBalanceResponse(
+        Long accountId,
+        LocalDate asOf,
+        BigDecimal balance
+) {
+}
@@ -12,6 +12,7 @@ public record AccountResponse(
         String name,
         AccountType type,
         String bankName,
+        BigDecimal openingBalance,
         BigDecimal balance,
         LocalDateTime createdAt
 ) {
@@ -1,13 +1,17 @@
 package dev.deyve.grainpayapi.dtos;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.math.BigDecimal;
 import java.util.List;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record DashboardSummaryResponse(
         BigDecimal totalIncome,
         BigDecimal totalExpenses,
         BigDecimal balance,
         List<CategorySummary> expensesByCategory,
-        List<SourceSummary> incomeBySource
+        List<SourceSummary> incomeBySource,
+        DashboardSummaryResponse previousMonth
 ) {
 }
@@ -0,0 +1,24 @@
+package dev.deyve.grainpayapi.dtos;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import dev.deyve.grainpayapi.models.ImportJobStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportJobResponse(
+        UUID id,
+        ImportJobStatus status,
+        String filename,
+        int rowsProcessed,
+        int imported,
+        int duplicates,
+        int failed,
+        List<ImportRowError> errors,
+        String message,
+        LocalDateTime createdAt,
+        LocalDateTime finishedAt
+) {
+}
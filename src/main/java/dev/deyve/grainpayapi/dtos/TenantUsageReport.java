@@ -0,0 +1,10 @@
+package dev.deyve.grainpayapi.dtos;
+
+import java.util.List;
+
+public record TenantUsageReport(
+        String window,
+        String sortedBy,
+        List<TenantUsageResponse> tenants
+) {
+}
@@ -0,0 +1,12 @@
+package dev.deyve.grainpayapi.dtos;
+
+public record TenantUsageResponse(
+        Long userId,
+        long requests,
+        long dbTimeMillis,
+        long statements,
+        long rows,
+        long importRows,
+        long exportBytes
+) {
+}
@@ -0,0 +1,9 @@
+package dev.deyve.grainpayapi.dtos;
+
+import java.util.List;
+
+public record TransactionCursorPage(
+        List<TransactionResponse> content,
+        String nextCursor
+) {
+}
@@ -0,0 +1,22 @@
+package dev.deyve.grainpayapi.dtos;
+
+import dev.deyve.grainpayapi.models.PaymentType;
+import dev.deyve.grainpayapi.models.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public record TransactionExportRow(
+        Long id,
+        LocalDate date,
+        TransactionType type,
+        String description,
+        BigDecimal amount,
+        String categoryName,
+        PaymentType paymentType,
+        String accountName,
+        Integer installments,
+        Integer currentInstallment,
+        String notes
+) {
+}
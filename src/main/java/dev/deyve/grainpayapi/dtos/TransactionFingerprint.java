@@ -0,0 +1,16 @@
+package dev.deyve.grainpayapi.dtos;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Identity of a transaction for duplicate detection on import. The amount is scaled to
+ * the column's two decimals so "150", "150.0" and "150.00" compare equal.
+ */
+public record TransactionFingerprint(LocalDate date, BigDecimal amount, String description) {
+
+    public TransactionFingerprint {
+        amount = amount.setScale(2, RoundingMode.HALF_UP);
+    }
+}
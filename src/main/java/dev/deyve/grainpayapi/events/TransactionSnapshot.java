@@ -0,0 +1,34 @@
+package dev.deyve.grainpayapi.events;
+
+import dev.deyve.grainpayapi.models.IncomeSource;
+import dev.deyve.grainpayapi.models.Transaction;
+import dev.deyve.grainpayapi.models.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The fields of a transaction that derived data depends on, captured at a point in
+ * time so listeners can see the state before an update or delete.
+ */
+public record TransactionSnapshot(
+        Long userId,
+        Long categoryId,
+        Long accountId,
+        TransactionType type,
+        IncomeSource source,
+        LocalDate date,
+        BigDecimal amount
+) {
+
+    public static TransactionSnapshot of(Transaction t) {
+        return new TransactionSnapshot(
+                t.getUser().getId(),
+                t.getCategory() != null ? t.getCategory().getId() : null,
+                t.getAccount() != null ? t.getAccount().getId() : null,
+                t.getType(),
+                t.getSource(),
+                t.getDate(),
+                t.getAmount());
+    }
+}
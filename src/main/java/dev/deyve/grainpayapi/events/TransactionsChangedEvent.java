@@ -0,0 +1,24 @@
+package dev.deyve.grainpayapi.events;
+
+import dev.deyve.grainpayapi.models.Transaction;
+
+import java.util.List;
+
+/**
+ * Published inside the writing transaction whenever transactions are created, updated
+ * or deleted. An update is a removal of the old snapshot plus an addition of the new one.
+ */
+public record TransactionsChangedEvent(List<TransactionSnapshot> removed, List<TransactionSnapshot> added) {
+
+    public static TransactionsChangedEvent created(List<Transaction> transactions) {
+        return new TransactionsChangedEvent(List.of(), transactions.stream().map(TransactionSnapshot::of).toList());
+    }
+
+    public static TransactionsChangedEvent updated(TransactionSnapshot before, Transaction after) {
+        return new TransactionsChangedEvent(List.of(before), List.of(TransactionSnapshot.of(after)));
+    }
+
+    public static TransactionsChangedEvent deleted(TransactionSnapshot before) {
+        return new TransactionsChangedEvent(List.of(before), List.of());
+    }
+}
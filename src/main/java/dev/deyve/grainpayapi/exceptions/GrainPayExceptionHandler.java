@@ -1,10 +1,12 @@
 package dev.deyve.grainpayapi.exceptions;
 
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -48,6 +50,22 @@ public class GrainPayExceptionHandler {
         return buildError(ex.getMessage(), HttpStatus.NOT_FOUND, List.of());
     }
 
+    @ExceptionHandler(ImportJobNotFoundException.class)
+    public ResponseEntity<GrainPayError> handleImportJobNotFound(ImportJobNotFoundException ex) {
+        return buildError(ex.getMessage(), HttpStatus.NOT_FOUND, List.of());
+    }
+
+    @ExceptionHandler(ImportQueueFullException.class)
+    public ResponseEntity<GrainPayError> handleImportQueueFull(ImportQueueFullException ex) {
+        return buildError(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE, List.of());
+    }
+
+    // No connection could be had in time: the pool is saturated (or the database is down)
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<GrainPayError> handleDatabaseUnavailable(Exception ex) {
+        return buildError("Service is busy, try again later", HttpStatus.SERVICE_UNAVAILABLE, List.of());
+    }
+
     @ExceptionHandler(UserAlreadyExistsException.class)
     public ResponseEntity<GrainPayError> handleUserAlreadyExists(UserAlreadyExistsException ex) {
         return buildError(ex.getMessage(), HttpStatus.CONFLICT, List.of());
@@ -0,0 +1,8 @@
+package dev.deyve.grainpayapi.exceptions;
+
+public class ImportJobNotFoundException extends RuntimeException {
+
+    public ImportJobNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package dev.deyve.grainpayapi.exceptions;
+
+public class ImportQueueFullException extends RuntimeException {
+
+    public ImportQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -15,5 +15,6 @@ public interface AccountMapper {
     @Mapping(target = "user", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "openingBalance", source = "balance")
     Account toEntity(CreateAccountRequest request);
 }
@@ -20,5 +20,6 @@ public interface RecurringTransactionMapper {
     @Mapping(target = "isActive", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "lastMaterializedDate", ignore = true)
     RecurringTransaction toEntity(CreateRecurringTransactionRequest request);
 }
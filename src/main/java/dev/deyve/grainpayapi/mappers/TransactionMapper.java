@@ -20,5 +20,6 @@ public interface TransactionMapper {
     @Mapping(target = "account", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "recurringTransactionId", ignore = true)
     Transaction toEntity(CreateTransactionRequest request);
 }
@@ -24,6 +24,10 @@ public class Account extends Auditable {
     private String bankName;
 
     @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal openingBalance;
+
+    // Ledger-derived: written on insert, then only through AccountRepository#addToBalance.
+    @Column(nullable = false, precision = 19, scale = 2, updatable = false)
     private BigDecimal balance;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -65,6 +69,14 @@ public class Account extends Auditable {
         this.bankName = bankName;
     }
 
+    public BigDecimal getOpeningBalance() {
+        return openingBalance;
+    }
+
+    public void setOpeningBalance(BigDecimal openingBalance) {
+        this.openingBalance = openingBalance;
+    }
+
     public BigDecimal getBalance() {
         return balance;
     }
@@ -0,0 +1,63 @@
+package dev.deyve.grainpayapi.models;
+
+import jakarta.persistence.*;
+import org.hibernate.Hibernate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * An account's balance at the end of a closed month. Created by the snapshot job and
+ * shifted whenever a transaction dated on or before {@code asOf} changes; written only
+ * through {@code AccountBalanceSnapshotRepository}.
+ */
+@Entity
+@Table(name = "account_balance_snapshots")
+public class AccountBalanceSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long accountId;
+
+    @Column(nullable = false)
+    private LocalDate asOf;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+
+    public AccountBalanceSnapshot() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+
+    public LocalDate getAsOf() {
+        return asOf;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        AccountBalanceSnapshot that = (AccountBalanceSnapshot) o;
+        return id != null && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -0,0 +1,159 @@
+package dev.deyve.grainpayapi.models;
+
+import jakarta.persistence.*;
+import org.hibernate.Hibernate;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * A CSV import running in the background. Counters only move through
+ * {@code ImportJobRepository} updates issued with each committed chunk.
+ */
+@Entity
+@Table(name = "import_jobs")
+public class ImportJob extends Auditable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    private String filename;
+
+    /**
+     * Node whose workers run the job. {@code heartbeat_at} is maintained by the database
+     * and {@code ImportJobRepository} only.
+     */
+    @Column(updatable = false)
+    private String owner;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ImportJobStatus status = ImportJobStatus.PENDING;
+
+    @Column(nullable = false)
+    private Integer rowsProcessed = 0;
+
+    @Column(nullable = false)
+    private Integer imported = 0;
+
+    @Column(nullable = false)
+    private Integer duplicates = 0;
+
+    @Column(nullable = false)
+    private Integer failed = 0;
+
+    @Column(length = 500)
+    private String message;
+
+    private LocalDateTime finishedAt;
+
+    public ImportJob() {
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public void setUser(User user) {
+        this.user = user;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public ImportJobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ImportJobStatus status) {
+        this.status = status;
+    }
+
+    public Integer getRowsProcessed() {
+        return rowsProcessed;
+    }
+
+    public void setRowsProcessed(Integer rowsProcessed) {
+        this.rowsProcessed = rowsProcessed;
+    }
+
+    public Integer getImported() {
+        return imported;
+    }
+
+    public void setImported(Integer imported) {
+        this.imported = imported;
+    }
+
+    public Integer getDuplicates() {
+        return duplicates;
+    }
+
+    public void setDuplicates(Integer duplicates) {
+        this.duplicates = duplicates;
+    }
+
+    public Integer getFailed() {
+        return failed;
+    }
+
+    public void setFailed(Integer failed) {
+        this.failed = failed;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        ImportJob importJob = (ImportJob) o;
+        return id != null && Objects.equals(id, importJob.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
@@ -0,0 +1,80 @@
+package dev.deyve.grainpayapi.models;
+
+import jakarta.persistence.*;
+import org.hibernate.Hibernate;
+
+import java.util.Objects;
+import java.util.UUID;
+
+@Entity
+@Table(name = "import_job_errors")
+public class ImportJobError {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "import_job_errors_id_seq")
+    @SequenceGenerator(name = "import_job_errors_id_seq", sequenceName = "import_job_errors_id_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private UUID jobId;
+
+    @Column(nullable = false)
+    private Integer line;
+
+    @Column(nullable = false)
+    private String reason;
+
+    public ImportJobError() {
+    }
+
+    public ImportJobError(UUID jobId, Integer line, String reason) {
+        this.jobId = jobId;
+        this.line = line;
+        this.reason = reason;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public UUID getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(UUID jobId) {
+        this.jobId = jobId;
+    }
+
+    public Integer getLine() {
+        return line;
+    }
+
+    public void setLine(Integer line) {
+        this.line = line;
+    }
+
+    public String getReason() {
+        return reason;
+    }
+
+    public void setReason(String reason) {
+        this.reason = reason;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        ImportJobError that = (ImportJobError) o;
+        return id != null && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
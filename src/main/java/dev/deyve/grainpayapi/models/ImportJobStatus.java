@@ -0,0 +1,8 @@
+package dev.deyve.grainpayapi.models;
+
+public enum ImportJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
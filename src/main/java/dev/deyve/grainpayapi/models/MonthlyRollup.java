@@ -0,0 +1,96 @@
+package dev.deyve.grainpayapi.models;
+
+import jakarta.persistence.*;
+import org.hibernate.Hibernate;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Derived per-month totals of a user's transactions, keyed by (year, month, type,
+ * category, source). Written only through {@code MonthlyRollupRepository} upserts.
+ */
+@Entity
+@Table(name = "monthly_rollups")
+public class MonthlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private Integer year;
+
+    @Column(nullable = false)
+    private Integer month;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransactionType type;
+
+    private Long categoryId;
+
+    @Enumerated(EnumType.STRING)
+    private IncomeSource source;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal total;
+
+    @Column(nullable = false)
+    private Long txCount;
+
+    public MonthlyRollup() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Integer getYear() {
+        return year;
+    }
+
+    public Integer getMonth() {
+        return month;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public Long getCategoryId() {
+        return categoryId;
+    }
+
+    public IncomeSource getSource() {
+        return source;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public Long getTxCount() {
+        return txCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || Hibernate.getClass(this) != Hibernate.getClass(o)) return false;
+        MonthlyRollup that = (MonthlyRollup) o;
+        return id != null && Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+}
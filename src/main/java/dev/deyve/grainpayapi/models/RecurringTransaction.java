@@ -50,6 +50,10 @@ public class RecurringTransaction extends Auditable {
     @Column(nullable = false)
     private Boolean isActive = true;
 
+    // Advanced only by the materializer, see RecurringTransactionRepository#advanceWatermark
+    @Column(updatable = false)
+    private LocalDate lastMaterializedDate;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
@@ -153,6 +157,14 @@ public class RecurringTransaction extends Auditable {
         this.isActive = isActive;
     }
 
+    public LocalDate getLastMaterializedDate() {
+        return lastMaterializedDate;
+    }
+
+    public void setLastMaterializedDate(LocalDate lastMaterializedDate) {
+        this.lastMaterializedDate = lastMaterializedDate;
+    }
+
     public User getUser() {
         return user;
     }
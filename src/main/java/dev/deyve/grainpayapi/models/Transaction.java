@@ -2,6 +2,7 @@ package dev.deyve.grainpayapi.models;
 
 import jakarta.persistence.*;
 import org.hibernate.Hibernate;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -13,7 +14,8 @@ import java.util.Set;
 public class Transaction extends Auditable {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_id_seq")
+    @SequenceGenerator(name = "transactions_id_seq", sequenceName = "transactions_id_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -39,6 +41,7 @@ public class Transaction extends Auditable {
     private String notes;
 
     @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(name = "transaction_tags", joinColumns = @JoinColumn(name = "transaction_id"))
     @Column(name = "tag")
     private Set<String> tags;
@@ -58,6 +61,10 @@ public class Transaction extends Auditable {
 
     private Boolean isRecurring;
 
+    // Rule this occurrence was materialized from
+    @Column(updatable = false)
+    private Long recurringTransactionId;
+
     // INCOME-specific (nullable)
     @Enumerated(EnumType.STRING)
     private IncomeSource source;
@@ -169,6 +176,14 @@ public class Transaction extends Auditable {
         this.currentInstallment = currentInstallment;
     }
 
+    public Long getRecurringTransactionId() {
+        return recurringTransactionId;
+    }
+
+    public void setRecurringTransactionId(Long recurringTransactionId) {
+        this.recurringTransactionId = recurringTransactionId;
+    }
+
     public Boolean getIsRecurring() {
         return isRecurring;
     }
@@ -1,5 +1,6 @@
 package dev.deyve.grainpayapi.models;
 
+import dev.deyve.grainpayapi.security.UserChangeListener;
 import jakarta.persistence.*;
 import org.hibernate.Hibernate;
 import org.springframework.security.core.GrantedAuthority;
@@ -12,6 +13,7 @@ import java.util.Objects;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserChangeListener.class)
 public class User extends Auditable implements UserDetails {
 
     @Id
@@ -0,0 +1,58 @@
+package dev.deyve.grainpayapi.repositories;
+
+import dev.deyve.grainpayapi.models.AccountBalanceSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface AccountBalanceSnapshotRepository extends JpaRepository<AccountBalanceSnapshot, Long> {
+
+    // Reads
+    Optional<AccountBalanceSnapshot> findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(Long accountId, LocalDate asOf);
+
+    Optional<AccountBalanceSnapshot> findFirstByAccountIdAndAsOfGreaterThanOrderByAsOfAsc(Long accountId, LocalDate asOf);
+
+    @Query("SELECT MAX(s.asOf) FROM AccountBalanceSnapshot s")
+    LocalDate findLatestAsOf();
+
+    // Writers: shift every snapshot the changed transactions fall into
+    @Modifying
+    @Query(value = "UPDATE account_balance_snapshots SET balance = balance + :delta " +
+            "WHERE account_id = :accountId AND as_of >= :from",
+            nativeQuery = true)
+    int shiftFrom(@Param("accountId") Long accountId,
+                  @Param("from") LocalDate from,
+                  @Param("delta") BigDecimal delta);
+
+    @Modifying
+    @Query(value = "UPDATE account_balance_snapshots SET balance = balance + :delta WHERE account_id = :accountId",
+            nativeQuery = true)
+    int shiftAll(@Param("accountId") Long accountId, @Param("delta") BigDecimal delta);
+
+    // Snapshot job
+    // Conflicts with the row-exclusive lock every shift takes, so a new month-end is
+    // computed only after in-flight writers commit and later writers shift it.
+    @Modifying
+    @Query(value = "LOCK TABLE account_balance_snapshots IN SHARE ROW EXCLUSIVE MODE", nativeQuery = true)
+    void lockForSnapshot();
+
+    @Modifying
+    @Query(value = "INSERT INTO account_balance_snapshots (account_id, as_of, balance) " +
+            "SELECT a.id, :asOf, COALESCE(p.balance, a.opening_balance) + COALESCE((" +
+            "    SELECT SUM(CASE WHEN t.type = 'INCOME' THEN t.amount ELSE -t.amount END) FROM transactions t " +
+            "    WHERE t.account_id = a.id AND t.date <= :asOf " +
+            "      AND (p.as_of IS NULL OR t.date > p.as_of)), 0) " +
+            "FROM accounts a " +
+            "LEFT JOIN LATERAL (SELECT s.as_of, s.balance FROM account_balance_snapshots s " +
+            "    WHERE s.account_id = a.id AND s.as_of < :asOf ORDER BY s.as_of DESC LIMIT 1) p ON TRUE " +
+            "ON CONFLICT ON CONSTRAINT uq_account_balance_snapshots_account_as_of DO NOTHING",
+            nativeQuery = true)
+    int insertMonthEnd(@Param("asOf") LocalDate asOf);
+}
@@ -1,12 +1,19 @@
 package dev.deyve.grainpayapi.repositories;
 
 import dev.deyve.grainpayapi.models.Account;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
@@ -14,4 +21,16 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     Page<Account> findAllByUserId(Long userId, Pageable pageable);
 
     List<Account> findAllByUserIdOrderByNameAsc(Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.id = :id")
+    Optional<Account> findByIdForUpdate(@Param("id") Long id);
+
+    // Ledger: a single-row atomic increment, concurrent writers queue on the row lock
+    @Modifying
+    @Query(value = "UPDATE accounts SET balance = balance + :delta WHERE id = :id", nativeQuery = true)
+    int addToBalance(@Param("id") Long id, @Param("delta") BigDecimal delta);
+
+    @Query("SELECT a.balance FROM Account a WHERE a.id = :id")
+    BigDecimal findBalanceById(@Param("id") Long id);
 }
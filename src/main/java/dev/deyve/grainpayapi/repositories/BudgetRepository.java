@@ -2,17 +2,65 @@ package dev.deyve.grainpayapi.repositories;
 
 import dev.deyve.grainpayapi.models.Budget;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BudgetRepository extends JpaRepository<Budget, Long> {
 
-    List<Budget> findAllByUserIdAndMonthAndYear(Long userId, Integer month, Integer year);
+    // Listing: each budget with its category and the month's expenses in that category,
+    // read from the monthly rollups, in a single statement
+    @Query("SELECT b, c, (SELECT COALESCE(SUM(r.total), 0) FROM MonthlyRollup r " +
+            "    WHERE r.userId = b.user.id AND r.categoryId = c.id AND r.year = b.year AND r.month = b.month " +
+            "    AND r.type = 'EXPENSE') " +
+            "FROM Budget b JOIN b.category c " +
+            "WHERE b.user.id = :userId AND b.month = :month AND b.year = :year ORDER BY b.id")
+    List<Object[]> findAllWithSpentByUserIdAndMonthAndYear(@Param("userId") Long userId,
+                                                           @Param("month") Integer month,
+                                                           @Param("year") Integer year);
 
     Optional<Budget> findByUserIdAndCategoryIdAndMonthAndYear(Long userId, Long categoryId, Integer month, Integer year);
 
-    List<Budget> findAllByMonthAndYearAndNotifiedFalse(Integer month, Integer year);
+    // Alerts: among the month's budgets for the given categories, marks those whose expenses
+    // reached the threshold as notified and queues their alert emails, in a single statement.
+    // A category belongs to one user, so the user filter only lets the unique index be used.
+    // Returns the number of alerts queued.
+    @Transactional
+    @Modifying
+    @Query(value = "WITH due AS (" +
+            "  SELECT b.id, u.email, u.name AS user_name, c.name AS category_name, b.limit_amount, " +
+            "         b.month, b.year, s.spent " +
+            "  FROM budgets b " +
+            "  JOIN users u ON u.id = b.user_id " +
+            "  JOIN categories c ON c.id = b.category_id " +
+            "  CROSS JOIN LATERAL (SELECT COALESCE(SUM(r.total), 0) AS spent FROM monthly_rollups r " +
+            "    WHERE r.user_id = b.user_id AND r.category_id = b.category_id AND r.year = b.year " +
+            "      AND r.month = b.month AND r.type = 'EXPENSE') s " +
+            "  WHERE b.user_id IN (:userIds) AND b.category_id IN (:categoryIds) " +
+            "    AND b.year = :year AND b.month = :month AND b.notified = FALSE AND b.limit_amount > 0 " +
+            "    AND s.spent * 100 >= b.limit_amount * :threshold" +
+            "), marked AS (" +
+            "  UPDATE budgets b SET notified = TRUE FROM due " +
+            "  WHERE b.id = due.id AND b.notified = FALSE RETURNING b.id" +
+            ") " +
+            "INSERT INTO email_outbox (kind, recipient, payload) " +
+            "SELECT 'BUDGET_ALERT', due.email, jsonb_build_object(" +
+            "  'userName', due.user_name, 'categoryName', due.category_name, 'spent', due.spent, " +
+            "  'limit', due.limit_amount, 'percentage', round(due.spent * 100 / due.limit_amount, 2), " +
+            "  'month', due.month, 'year', due.year) " +
+            "FROM due JOIN marked ON marked.id = due.id",
+            nativeQuery = true)
+    int queueAlerts(@Param("month") Integer month,
+                    @Param("year") Integer year,
+                    @Param("threshold") BigDecimal threshold,
+                    @Param("userIds") Collection<Long> userIds,
+                    @Param("categoryIds") Collection<Long> categoryIds);
 }
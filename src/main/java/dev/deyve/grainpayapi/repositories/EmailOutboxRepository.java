@@ -0,0 +1,65 @@
+package dev.deyve.grainpayapi.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Delivery state of {@code email_outbox}. Like {@link JobPartitionRepository}, every
+ * statement commits on its own and all times come from the database clock.
+ */
+@Repository
+public class EmailOutboxRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public EmailOutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Claims up to {@code limit} due emails, oldest first, skipping rows another sender is
+     * claiming. Each claim counts as an attempt and moves the row's next attempt forward
+     * by {@code lease}, so it is not handed out again while being sent.
+     */
+    public List<PendingEmail> claimDue(int limit, Duration lease) {
+        return jdbcTemplate.query(
+                "UPDATE email_outbox SET attempts = attempts + 1, " +
+                        "  next_attempt_at = now() + make_interval(secs => ?) " +
+                        "WHERE id IN (" +
+                        "  SELECT id FROM email_outbox WHERE status = 'PENDING' AND next_attempt_at <= now() " +
+                        "  ORDER BY next_attempt_at LIMIT ? FOR UPDATE SKIP LOCKED) " +
+                        "RETURNING id, kind, recipient, payload::text AS payload, attempts",
+                (rs, i) -> new PendingEmail(rs.getLong("id"), rs.getString("kind"), rs.getString("recipient"),
+                        rs.getString("payload"), rs.getInt("attempts")),
+                lease.toSeconds(), limit);
+    }
+
+    public void markSent(long id) {
+        jdbcTemplate.update("UPDATE email_outbox SET status = 'SENT', sent_at = now(), last_error = NULL " +
+                "WHERE id = ?", id);
+    }
+
+    public void retryLater(long id, String error, Duration backoff) {
+        jdbcTemplate.update("UPDATE email_outbox SET last_error = ?, " +
+                "next_attempt_at = now() + make_interval(secs => ?) WHERE id = ?", truncate(error), backoff.toSeconds(), id);
+    }
+
+    public void markFailed(long id, String error) {
+        jdbcTemplate.update("UPDATE email_outbox SET status = 'FAILED', last_error = ? WHERE id = ?", truncate(error), id);
+    }
+
+    public int deleteSentBefore(Duration age) {
+        return jdbcTemplate.update("DELETE FROM email_outbox WHERE status = 'SENT' " +
+                "AND sent_at < now() - make_interval(secs => ?)", age.toSeconds());
+    }
+
+    private static String truncate(String error) {
+        return error != null && error.length() > 500 ? error.substring(0, 500) : error;
+    }
+
+    public record PendingEmail(long id, String kind, String recipient, String payload, int attempts) {
+    }
+}
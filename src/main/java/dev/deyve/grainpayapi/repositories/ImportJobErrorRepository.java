@@ -0,0 +1,14 @@
+package dev.deyve.grainpayapi.repositories;
+
+import dev.deyve.grainpayapi.models.ImportJobError;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ImportJobErrorRepository extends JpaRepository<ImportJobError, Long> {
+
+    List<ImportJobError> findAllByJobIdOrderByLineAsc(UUID jobId);
+}
@@ -0,0 +1,87 @@
+package dev.deyve.grainpayapi.repositories;
+
+import dev.deyve.grainpayapi.models.ImportJob;
+import dev.deyve.grainpayapi.models.ImportJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ImportJobRepository extends JpaRepository<ImportJob, UUID> {
+
+    Optional<ImportJob> findByIdAndUserId(UUID id, Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.status = :to, j.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE j.id = :id AND j.status = :from")
+    int transition(@Param("id") UUID id, @Param("from") ImportJobStatus from, @Param("to") ImportJobStatus to);
+
+    /**
+     * @return {@code 0} if the job is no longer running (it was failed as abandoned)
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.rowsProcessed = j.rowsProcessed + :processed, " +
+            "j.imported = j.imported + :imported, j.duplicates = j.duplicates + :duplicates, " +
+            "j.failed = j.failed + :failed, j.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE j.id = :id AND j.status = dev.deyve.grainpayapi.models.ImportJobStatus.RUNNING")
+    int addProgress(@Param("id") UUID id,
+                    @Param("processed") int processed,
+                    @Param("imported") int imported,
+                    @Param("duplicates") int duplicates,
+                    @Param("failed") int failed);
+
+    /**
+     * Finishes the job only if it is still in {@code from}, so a job already failed as
+     * abandoned is not overwritten by the worker that lost it.
+     *
+     * @return {@code 0} if the job had left {@code from}
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE ImportJob j SET j.status = :status, j.message = :message, j.finishedAt = :finishedAt, " +
+            "j.updatedAt = :finishedAt WHERE j.id = :id AND j.status = :from")
+    int finish(@Param("id") UUID id,
+               @Param("from") ImportJobStatus from,
+               @Param("status") ImportJobStatus status,
+               @Param("message") String message,
+               @Param("finishedAt") LocalDateTime finishedAt);
+
+    /**
+     * Refreshes {@code heartbeat_at} of the unfinished jobs {@code owner} accepted since
+     * {@code startedAt}.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE import_jobs SET heartbeat_at = now() " +
+            "WHERE owner = :owner AND created_at >= :startedAt AND status IN ('PENDING', 'RUNNING')",
+            nativeQuery = true)
+    int heartbeat(@Param("owner") String owner, @Param("startedAt") LocalDateTime startedAt);
+
+    /**
+     * Fails the unfinished jobs nobody will finish: those {@code owner} accepted before it
+     * started (its workers died with the previous process) and those, of any node, whose
+     * heartbeat is older than {@code leaseSeconds} by the database clock.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE import_jobs SET status = 'FAILED', message = :message, " +
+            "finished_at = :finishedAt, updated_at = :finishedAt " +
+            "WHERE status IN ('PENDING', 'RUNNING') " +
+            "AND ((owner = :owner AND created_at < :startedAt) " +
+            "  OR heartbeat_at < now() - make_interval(secs => :leaseSeconds))",
+            nativeQuery = true)
+    int failAbandoned(@Param("owner") String owner,
+                      @Param("startedAt") LocalDateTime startedAt,
+                      @Param("leaseSeconds") long leaseSeconds,
+                      @Param("message") String message,
+                      @Param("finishedAt") LocalDateTime finishedAt);
+}
@@ -0,0 +1,62 @@
+package dev.deyve.grainpayapi.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Leases on {@code job_partitions}. Every statement runs on its own (auto-committed), so
+ * a claim is visible to other nodes as soon as it is made, and all times come from the
+ * database clock so nodes never compare their own clocks.
+ */
+@Repository
+public class JobPartitionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JobPartitionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Creates the job's partitions 0..{@code partitions - 1} and drops any beyond them, so
+     * a changed partition count takes effect on the next run.
+     */
+    public void ensurePartitions(String jobName, int partitions) {
+        jdbcTemplate.update("INSERT INTO job_partitions (job_name, partition) " +
+                "SELECT ?, g FROM generate_series(0, ? - 1) g ON CONFLICT DO NOTHING", jobName, partitions);
+        jdbcTemplate.update("DELETE FROM job_partitions WHERE job_name = ? AND partition >= ?", jobName, partitions);
+    }
+
+    /**
+     * Leases one partition that has not completed {@code runKey} and is not leased by a
+     * live node.
+     *
+     * @return the claimed partition, or {@code null} when none is left
+     */
+    public Integer claim(String jobName, String runKey, String owner, Duration lease) {
+        List<Integer> claimed = jdbcTemplate.queryForList(
+                "UPDATE job_partitions SET owner = ?, lease_until = now() + make_interval(secs => ?) " +
+                        "WHERE (job_name, partition) = (" +
+                        "  SELECT job_name, partition FROM job_partitions " +
+                        "  WHERE job_name = ? AND last_run_key IS DISTINCT FROM ? " +
+                        "    AND (lease_until IS NULL OR lease_until < now()) " +
+                        "  ORDER BY partition LIMIT 1 FOR UPDATE SKIP LOCKED) " +
+                        "RETURNING partition",
+                Integer.class, owner, lease.toSeconds(), jobName, runKey);
+        return claimed.isEmpty() ? null : claimed.getFirst();
+    }
+
+    /**
+     * Marks the partition done for {@code runKey} and releases it.
+     *
+     * @return {@code false} if the lease had already passed to another node
+     */
+    public boolean complete(String jobName, int partition, String runKey, String owner) {
+        return jdbcTemplate.update("UPDATE job_partitions " +
+                "SET last_run_key = ?, completed_at = now(), owner = NULL, lease_until = NULL " +
+                "WHERE job_name = ? AND partition = ? AND owner = ?", runKey, jobName, partition, owner) == 1;
+    }
+}
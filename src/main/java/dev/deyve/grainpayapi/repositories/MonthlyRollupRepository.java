@@ -0,0 +1,110 @@
+package dev.deyve.grainpayapi.repositories;
+
+import dev.deyve.grainpayapi.models.MonthlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Repository
+public interface MonthlyRollupRepository extends JpaRepository<MonthlyRollup, Long> {
+
+    // Writes
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rollups (user_id, year, month, type, category_id, source, total, tx_count) " +
+            "VALUES (:userId, :year, :month, :type, :categoryId, :source, :total, :txCount) " +
+            "ON CONFLICT ON CONSTRAINT uq_monthly_rollups_key DO UPDATE " +
+            "SET total = monthly_rollups.total + EXCLUDED.total, tx_count = monthly_rollups.tx_count + EXCLUDED.tx_count",
+            nativeQuery = true)
+    void addDelta(@Param("userId") Long userId,
+                  @Param("year") Integer year,
+                  @Param("month") Integer month,
+                  @Param("type") String type,
+                  @Param("categoryId") Long categoryId,
+                  @Param("source") String source,
+                  @Param("total") BigDecimal total,
+                  @Param("txCount") Long txCount);
+
+    // Rebuild / verify: rollup keys whose total or count disagree with the raw rows
+    String DRIFTED_KEYS = "WITH actual AS (" +
+            "  SELECT user_id, EXTRACT(YEAR FROM date)::INTEGER AS year, EXTRACT(MONTH FROM date)::INTEGER AS month, " +
+            "         type, category_id, source, SUM(amount) AS total, COUNT(*) AS tx_count " +
+            "  FROM transactions GROUP BY 1, 2, 3, 4, 5, 6) " +
+            "SELECT COALESCE(a.user_id, r.user_id) AS user_id FROM actual a FULL JOIN monthly_rollups r " +
+            "  ON r.user_id = a.user_id AND r.year = a.year AND r.month = a.month AND r.type = a.type " +
+            " AND r.category_id IS NOT DISTINCT FROM a.category_id AND r.source IS NOT DISTINCT FROM a.source " +
+            "WHERE COALESCE(a.total, 0) <> COALESCE(r.total, 0) OR COALESCE(a.tx_count, 0) <> COALESCE(r.tx_count, 0)";
+
+    @Query(value = "SELECT COUNT(*) FROM (" + DRIFTED_KEYS + ") drifted", nativeQuery = true)
+    long countDrift();
+
+    @Query(value = "SELECT DISTINCT user_id FROM (" + DRIFTED_KEYS + ") drifted", nativeQuery = true)
+    List<Long> findDriftedUserIds();
+
+    @Modifying
+    @Query(value = "LOCK TABLE monthly_rollups IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query(value = "DELETE FROM monthly_rollups", nativeQuery = true)
+    void deleteAllRows();
+
+    @Modifying
+    @Query(value = "INSERT INTO monthly_rollups (user_id, year, month, type, category_id, source, total, tx_count) " +
+            "SELECT user_id, EXTRACT(YEAR FROM date)::INTEGER, EXTRACT(MONTH FROM date)::INTEGER, " +
+            "       type, category_id, source, SUM(amount), COUNT(*) " +
+            "FROM transactions GROUP BY 1, 2, 3, 4, 5, 6",
+            nativeQuery = true)
+    int insertFromTransactions();
+
+    // Dashboard: totals by type, expenses by category and income by source of one month and,
+    // optionally, another (pass the same month twice for just one), in a single scan of the
+    // user's rollup rows. kind tells the grouping set apart: 3 = type total, 1 = category,
+    // 2 = source. Breakdown rows only count keys that still have transactions.
+    @Query(value = "SELECT s.year, s.month, s.type, s.category_name, s.source, " +
+            "       GROUPING(s.category_name, s.source) AS kind, SUM(s.total) AS total " +
+            "FROM (" +
+            "  SELECT r.year, r.month, r.type, r.total, r.tx_count, " +
+            "         CASE WHEN r.type = 'EXPENSE' THEN COALESCE(c.name, 'Sem categoria') END AS category_name, " +
+            "         CASE WHEN r.type = 'INCOME' THEN r.source END AS source " +
+            "  FROM monthly_rollups r LEFT JOIN categories c ON c.id = r.category_id " +
+            "  WHERE r.user_id = :userId " +
+            "    AND ((r.year = :year AND r.month = :month) OR (r.year = :otherYear AND r.month = :otherMonth))" +
+            ") s " +
+            "GROUP BY GROUPING SETS ((s.year, s.month, s.type), " +
+            "                        (s.year, s.month, s.type, s.category_name), " +
+            "                        (s.year, s.month, s.type, s.source)) " +
+            "HAVING GROUPING(s.category_name, s.source) = 3 " +
+            "    OR (GROUPING(s.category_name) = 0 AND s.category_name IS NOT NULL AND SUM(s.tx_count) > 0) " +
+            "    OR (GROUPING(s.source) = 0 AND s.source IS NOT NULL AND SUM(s.tx_count) > 0) " +
+            "ORDER BY s.year, s.month, kind, total DESC",
+            nativeQuery = true)
+    List<Object[]> summarizeMonths(@Param("userId") Long userId,
+                                   @Param("year") Integer year,
+                                   @Param("month") Integer month,
+                                   @Param("otherYear") Integer otherYear,
+                                   @Param("otherMonth") Integer otherMonth);
+
+    // Reports
+    @Query("SELECT r.month, r.type, SUM(r.total) FROM MonthlyRollup r " +
+            "WHERE r.userId = :userId AND r.year = :year " +
+            "GROUP BY r.month, r.type ORDER BY r.month")
+    List<Object[]> sumByMonthAndType(@Param("userId") Long userId, @Param("year") Integer year);
+
+    @Query("SELECT r.year, r.type, SUM(r.total) FROM MonthlyRollup r " +
+            "WHERE r.userId = :userId " +
+            "GROUP BY r.year, r.type HAVING SUM(r.txCount) > 0 ORDER BY r.year")
+    List<Object[]> sumByYearAndType(@Param("userId") Long userId);
+
+    @Query("SELECT COALESCE(c.name, 'Sem categoria'), r.type, SUM(r.total) FROM MonthlyRollup r " +
+            "LEFT JOIN Category c ON c.id = r.categoryId " +
+            "WHERE r.userId = :userId AND r.year = :year AND r.month = :month " +
+            "GROUP BY c.name, r.type HAVING SUM(r.txCount) > 0 ORDER BY SUM(r.total) DESC")
+    List<Object[]> sumByCategoryAndType(@Param("userId") Long userId,
+                                        @Param("year") Integer year,
+                                        @Param("month") Integer month);
+}
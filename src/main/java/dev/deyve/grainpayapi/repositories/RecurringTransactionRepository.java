@@ -3,22 +3,49 @@ package dev.deyve.grainpayapi.repositories;
 import dev.deyve.grainpayapi.models.RecurringTransaction;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface RecurringTransactionRepository extends JpaRepository<RecurringTransaction, Long> {
 
+    // Category and account are rendered with every rule
+    @EntityGraph(attributePaths = {"category", "account"})
     Page<RecurringTransaction> findAllByUserId(Long userId, Pageable pageable);
 
-    @Query("""
-            SELECT r FROM RecurringTransaction r
-            WHERE r.isActive = true
-              AND r.startDate <= :today
-              AND (r.endDate IS NULL OR r.endDate >= :today)
-            """)
-    List<RecurringTransaction> findAllActiveForDate(@Param("today") LocalDate today);
+    @Override
+    @EntityGraph(attributePaths = {"category", "account"})
+    Optional<RecurringTransaction> findById(Long id);
+
+    // Materializer: one partition's rules with occurrences due through :today, in id order.
+    // Rows another node has already claimed are skipped rather than waited on.
+    @Query(value = """
+            SELECT * FROM recurring_transactions
+            WHERE is_active
+              AND start_date <= :today
+              AND (last_materialized_date IS NULL OR last_materialized_date < :today)
+              AND (end_date IS NULL OR last_materialized_date IS NULL OR last_materialized_date < end_date)
+              AND mod(user_id, :partitions) = :partition
+              AND id > :afterId
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """, nativeQuery = true)
+    List<RecurringTransaction> lockDueChunk(@Param("afterId") Long afterId,
+                                            @Param("today") LocalDate today,
+                                            @Param("partition") int partition,
+                                            @Param("partitions") int partitions,
+                                            @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "UPDATE recurring_transactions SET last_materialized_date = :through WHERE id IN (:ids)",
+            nativeQuery = true)
+    int advanceWatermark(@Param("ids") Collection<Long> ids, @Param("through") LocalDate through);
 }
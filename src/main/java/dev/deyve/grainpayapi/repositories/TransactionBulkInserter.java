@@ -0,0 +1,94 @@
+package dev.deyve.grainpayapi.repositories;
+
+import dev.deyve.grainpayapi.models.Transaction;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Plain JDBC insert path for large imports. Ids come from the same pooled sequence
+ * Hibernate uses (one nextval per block of {@link #ID_BLOCK}), rows go out as JDBC
+ * batches that the driver rewrites into multi-row INSERTs, and nothing is kept in the
+ * persistence context. Runs inside the caller's transaction. Tags are not written.
+ *
+ * <p>A second occurrence of the same recurring rule and date violates
+ * {@code uq_transactions_recurring_date} and fails the batch rather than being skipped,
+ * since callers publish every row they pass in as created.
+ */
+@Repository
+public class TransactionBulkInserter {
+
+    static final int ID_BLOCK = 50;
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String INSERT_SQL = "INSERT INTO transactions " +
+            "(id, type, amount, date, description, payment_type, notes, category_id, account_id, user_id, " +
+            "installments, current_installment, is_recurring, recurring_transaction_id, source, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TransactionBulkInserter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Assigns ids and audit timestamps to {@code transactions} and inserts them.
+     */
+    public void insertAll(List<Transaction> transactions) {
+        if (transactions.isEmpty()) return;
+
+        Deque<Long> ids = allocateIds(transactions.size());
+        LocalDateTime now = LocalDateTime.now();
+        for (Transaction t : transactions) {
+            t.setId(ids.removeFirst());
+            t.setCreatedAt(now);
+            t.setUpdatedAt(now);
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, transactions, BATCH_SIZE, this::bind);
+    }
+
+    private Deque<Long> allocateIds(int count) {
+        int blocks = (count + ID_BLOCK - 1) / ID_BLOCK;
+        List<Long> blockEnds = jdbcTemplate.queryForList(
+                "SELECT nextval('transactions_id_seq') FROM generate_series(1, ?)", Long.class, blocks);
+
+        Deque<Long> ids = new ArrayDeque<>(blocks * ID_BLOCK);
+        for (Long end : blockEnds) {
+            for (long id = end - ID_BLOCK + 1; id <= end; id++) {
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    private void bind(PreparedStatement ps, Transaction t) throws SQLException {
+        ps.setLong(1, t.getId());
+        ps.setString(2, t.getType().name());
+        ps.setBigDecimal(3, t.getAmount());
+        ps.setDate(4, Date.valueOf(t.getDate()));
+        ps.setString(5, t.getDescription());
+        ps.setString(6, t.getPaymentType() != null ? t.getPaymentType().name() : null);
+        ps.setString(7, t.getNotes());
+        ps.setObject(8, t.getCategory() != null ? t.getCategory().getId() : null, Types.BIGINT);
+        ps.setObject(9, t.getAccount() != null ? t.getAccount().getId() : null, Types.BIGINT);
+        ps.setLong(10, t.getUser().getId());
+        ps.setObject(11, t.getInstallments(), Types.INTEGER);
+        ps.setObject(12, t.getCurrentInstallment(), Types.INTEGER);
+        ps.setObject(13, t.getIsRecurring(), Types.BOOLEAN);
+        ps.setObject(14, t.getRecurringTransactionId(), Types.BIGINT);
+        ps.setString(15, t.getSource() != null ? t.getSource().name() : null);
+        ps.setTimestamp(16, Timestamp.valueOf(t.getCreatedAt()));
+        ps.setTimestamp(17, Timestamp.valueOf(t.getUpdatedAt()));
+    }
+}
@@ -1,40 +1,39 @@
 package dev.deyve.grainpayapi.repositories;
 
+import dev.deyve.grainpayapi.dtos.TransactionExportRow;
+import dev.deyve.grainpayapi.dtos.TransactionFingerprint;
 import dev.deyve.grainpayapi.models.Transaction;
-import dev.deyve.grainpayapi.models.TransactionType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long>, JpaSpecificationExecutor<Transaction> {
 
-    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t " +
-            "WHERE t.user.id = :userId AND t.type = :type AND t.date BETWEEN :start AND :end")
-    BigDecimal sumByUserAndTypeAndDateBetween(@Param("userId") Long userId,
-                                              @Param("type") TransactionType type,
-                                              @Param("start") LocalDate start,
-                                              @Param("end") LocalDate end);
-
-    @Query("SELECT COALESCE(t.category.name, 'Sem categoria'), SUM(t.amount) FROM Transaction t " +
-            "WHERE t.user.id = :userId AND t.type = 'EXPENSE' AND t.date BETWEEN :start AND :end " +
-            "GROUP BY t.category.name")
-    List<Object[]> sumExpensesByCategoryAndDateBetween(@Param("userId") Long userId,
-                                                       @Param("start") LocalDate start,
-                                                       @Param("end") LocalDate end);
+    // Listing: category and account are joined into the page query, tags load in batches
+    @Override
+    @EntityGraph(attributePaths = {"category", "account"})
+    Page<Transaction> findAll(Specification<Transaction> spec, Pageable pageable);
 
-    @Query("SELECT t.source, SUM(t.amount) FROM Transaction t " +
-            "WHERE t.user.id = :userId AND t.type = 'INCOME' AND t.date BETWEEN :start AND :end " +
-            "AND t.source IS NOT NULL GROUP BY t.source")
-    List<Object[]> sumIncomeBySourceAndDateBetween(@Param("userId") Long userId,
-                                                   @Param("start") LocalDate start,
-                                                   @Param("end") LocalDate end);
+    @Override
+    @EntityGraph(attributePaths = {"category", "account"})
+    Optional<Transaction> findById(Long id);
 
     @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t " +
             "WHERE t.user.id = :userId AND t.type = 'EXPENSE' " +
@@ -44,26 +43,42 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>,
                                                           @Param("start") LocalDate start,
                                                           @Param("end") LocalDate end);
 
-    boolean existsByUserIdAndDateAndAmountAndDescription(Long userId, LocalDate date, BigDecimal amount, String description);
+    // Account balance: signed delta scans between a snapshot and the requested date
+    @Query("SELECT COALESCE(SUM(CASE WHEN t.type = 'INCOME' THEN t.amount ELSE -t.amount END), 0) " +
+            "FROM Transaction t WHERE t.account.id = :accountId AND t.date > :after AND t.date <= :upTo")
+    BigDecimal sumNetByAccountBetween(@Param("accountId") Long accountId,
+                                      @Param("after") LocalDate after,
+                                      @Param("upTo") LocalDate upTo);
 
-    // Export
-    List<Transaction> findAllByUser_IdAndDateBetweenOrderByDateAsc(Long userId, LocalDate start, LocalDate end);
+    @Query("SELECT COALESCE(SUM(CASE WHEN t.type = 'INCOME' THEN t.amount ELSE -t.amount END), 0) " +
+            "FROM Transaction t WHERE t.account.id = :accountId AND t.date > :after")
+    BigDecimal sumNetByAccountAfter(@Param("accountId") Long accountId, @Param("after") LocalDate after);
 
-    // Reports
-    @Query("SELECT MONTH(t.date), t.type, SUM(t.amount) FROM Transaction t " +
-            "WHERE t.user.id = :userId AND YEAR(t.date) = :year " +
-            "GROUP BY MONTH(t.date), t.type ORDER BY MONTH(t.date)")
-    List<Object[]> sumByMonthAndTypeForYear(@Param("userId") Long userId, @Param("year") Integer year);
+    // Import: duplicate detection for the whole file in one round trip
+    @Query("SELECT new dev.deyve.grainpayapi.dtos.TransactionFingerprint(t.date, t.amount, t.description) " +
+            "FROM Transaction t WHERE t.user.id = :userId AND t.date BETWEEN :start AND :end")
+    List<TransactionFingerprint> findFingerprints(@Param("userId") Long userId,
+                                                  @Param("start") LocalDate start,
+                                                  @Param("end") LocalDate end);
 
-    @Query("SELECT YEAR(t.date), t.type, SUM(t.amount) FROM Transaction t " +
-            "WHERE t.user.id = :userId " +
-            "GROUP BY YEAR(t.date), t.type ORDER BY YEAR(t.date)")
-    List<Object[]> sumByYearAndType(@Param("userId") Long userId);
+    // Recurring: occurrences already materialized for a chunk of rules
+    @Query("SELECT t.recurringTransactionId, t.date FROM Transaction t " +
+            "WHERE t.recurringTransactionId IN :ruleIds AND t.date >= :from")
+    List<Object[]> findRecurringOccurrences(@Param("ruleIds") Collection<Long> ruleIds,
+                                            @Param("from") LocalDate from);
 
-    @Query("SELECT COALESCE(t.category.name, 'Sem categoria'), t.type, SUM(t.amount) FROM Transaction t " +
+    // Export: forward-only cursor, PostgreSQL only honours the fetch size inside a transaction
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new dev.deyve.grainpayapi.dtos.TransactionExportRow(" +
+            "t.id, t.date, t.type, t.description, t.amount, c.name, t.paymentType, a.name, " +
+            "t.installments, t.currentInstallment, t.notes) " +
+            "FROM Transaction t LEFT JOIN t.category c LEFT JOIN t.account a " +
             "WHERE t.user.id = :userId AND t.date BETWEEN :start AND :end " +
-            "GROUP BY t.category.name, t.type ORDER BY SUM(t.amount) DESC")
-    List<Object[]> sumByCategoryAndTypeAndDateBetween(@Param("userId") Long userId,
-                                                       @Param("start") LocalDate start,
-                                                       @Param("end") LocalDate end);
+            "ORDER BY t.date, t.id")
+    Stream<TransactionExportRow> streamExportRows(@Param("userId") Long userId,
+                                                  @Param("start") LocalDate start,
+                                                  @Param("end") LocalDate end);
 }
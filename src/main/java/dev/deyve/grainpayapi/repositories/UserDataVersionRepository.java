@@ -0,0 +1,43 @@
+package dev.deyve.grainpayapi.repositories;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Per-user data versions in {@code user_data_versions}. Bumps join the caller's
+ * transaction when there is one, so a version never moves ahead of the data it covers.
+ */
+@Repository
+public class UserDataVersionRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserDataVersionRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public long find(Long userId) {
+        List<Long> versions = jdbcTemplate.queryForList(
+                "SELECT version FROM user_data_versions WHERE user_id = ?", Long.class, userId);
+        return versions.isEmpty() ? 0L : versions.getFirst();
+    }
+
+    /**
+     * Increments the version of each user, in id order so concurrent writers lock the
+     * rows in the same order.
+     */
+    public void bump(Collection<Long> userIds) {
+        Long[] ids = userIds.stream().sorted().distinct().toArray(Long[]::new);
+        jdbcTemplate.update(connection -> {
+            var statement = connection.prepareStatement(
+                    "INSERT INTO user_data_versions (user_id, version) " +
+                            "SELECT id, 1 FROM unnest(?::bigint[]) AS id ORDER BY id " +
+                            "ON CONFLICT (user_id) DO UPDATE SET version = user_data_versions.version + 1");
+            statement.setArray(1, connection.createArrayOf("bigint", ids));
+            return statement;
+        });
+    }
+}
@@ -1,29 +1,48 @@
 package dev.deyve.grainpayapi.security;
 
+import dev.deyve.grainpayapi.models.User;
+import dev.deyve.grainpayapi.models.UserRole;
+import dev.deyve.grainpayapi.repositories.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Instant;
 
+/**
+ * Authenticates bearer tokens. A token is parsed and verified once, then served from
+ * {@link JwtPrincipalCache}; the principal is built from its {@code uid} and {@code role}
+ * claims, so the hot path does not touch the database. Tokens issued before those claims
+ * existed, or before the user last changed, are resolved by email instead.
+ */
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
+    private static final Logger logger = LoggerFactory.getLogger(JwtAuthFilter.class);
+
+    // The authenticated user's id, for filters that run after the security context is cleared
+    public static final String USER_ID_ATTRIBUTE = JwtAuthFilter.class.getName() + ".userId";
+
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final JwtPrincipalCache principalCache;
+    private final UserRepository userRepository;
 
-    public JwtAuthFilter(JwtService jwtService, UserDetailsService userDetailsService) {
+    public JwtAuthFilter(JwtService jwtService, JwtPrincipalCache principalCache, UserRepository userRepository) {
         this.jwtService = jwtService;
-        this.userDetailsService = userDetailsService;
+        this.principalCache = principalCache;
+        this.userRepository = userRepository;
     }
 
     @Override
@@ -40,21 +59,63 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             return;
         }
 
-        String token = authHeader.substring(7);
-        String email = jwtService.extractUsername(token);
-
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(email);
+        if (SecurityContextHolder.getContext().getAuthentication() == null) {
+            User user = resolve(authHeader.substring(7));
 
-            if (jwtService.isTokenValid(token, userDetails)) {
+            if (user != null) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities()
+                        user, null, user.getAuthorities()
                 );
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
+                request.setAttribute(USER_ID_ATTRIBUTE, user.getId());
             }
         }
 
         filterChain.doFilter(request, response);
     }
+
+    private User resolve(String token) {
+        User cached = principalCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        Claims claims;
+        try {
+            claims = jwtService.parseClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            logger.debug("GRAIN-API: Rejected bearer token: {}", e.getMessage());
+            return null;
+        }
+
+        Instant validAsOf = claims.getIssuedAt().toInstant();
+        User user = fromClaims(claims);
+        if (user == null || principalCache.changedSince(user.getId(), validAsOf)) {
+            validAsOf = Instant.now();
+            user = userRepository.findByEmail(claims.getSubject()).orElse(null);
+        }
+
+        if (user != null) {
+            principalCache.put(token, user, claims.getExpiration().toInstant(), validAsOf);
+        }
+        return user;
+    }
+
+    private User fromClaims(Claims claims) {
+        if (!(claims.get(JwtService.USER_ID_CLAIM) instanceof Number userId)
+                || !(claims.get(JwtService.ROLE_CLAIM) instanceof String role)) {
+            return null;
+        }
+
+        User user = new User();
+        user.setId(userId.longValue());
+        user.setEmail(claims.getSubject());
+        try {
+            user.setRole(UserRole.valueOf(role));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return user;
+    }
 }
@@ -0,0 +1,77 @@
+package dev.deyve.grainpayapi.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import dev.deyve.grainpayapi.models.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Bearer tokens already validated by {@link JwtAuthFilter} and the principal they resolved
+ * to, so repeat requests skip parsing and signature checks. An entry lives until the token
+ * expires or for {@code jwt.cache.ttl}, whichever comes first.
+ *
+ * <p>When a user changes, their entries are dropped and the change time is remembered for
+ * one token lifetime: tokens issued before it carry claims that may be out of date, so the
+ * filter resolves them against the database again. Both maps are local to this instance.
+ */
+@Component
+public class JwtPrincipalCache {
+
+    private final Cache<String, CachedPrincipal> principals;
+    private final Cache<Long, Instant> changedAt;
+
+    public JwtPrincipalCache(@Value("${jwt.cache.max-size:10000}") long maxSize,
+                             @Value("${jwt.cache.ttl:5m}") Duration ttl,
+                             @Value("${jwt.expiration}") long tokenLifetimeMillis) {
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(Expiry.creating((String token, CachedPrincipal cached) -> {
+                    Duration untilExpiry = Duration.between(Instant.now(), cached.expiresAt());
+                    return untilExpiry.compareTo(ttl) < 0 ? untilExpiry : ttl;
+                }))
+                .build();
+        this.changedAt = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(tokenLifetimeMillis))
+                .build();
+    }
+
+    public User get(String token) {
+        CachedPrincipal cached = principals.getIfPresent(token);
+        return cached != null ? cached.user() : null;
+    }
+
+    /**
+     * Caches {@code user} for {@code token}, unless the user changed at or after
+     * {@code validAsOf}, the instant the principal's data was read (token issue time for
+     * claims, query time for a database lookup). Checked after the insert, so it also
+     * catches an invalidation racing with it.
+     */
+    public void put(String token, User user, Instant expiresAt, Instant validAsOf) {
+        principals.put(token, new CachedPrincipal(user, expiresAt));
+        if (changedSince(user.getId(), validAsOf)) {
+            principals.invalidate(token);
+        }
+    }
+
+    /**
+     * Whether {@code userId} changed at or after {@code issuedAt} (token timestamps have
+     * second precision, so a change in the same second counts).
+     */
+    public boolean changedSince(Long userId, Instant issuedAt) {
+        Instant changed = changedAt.getIfPresent(userId);
+        return changed != null && !issuedAt.isAfter(changed);
+    }
+
+    public void invalidateUser(Long userId) {
+        changedAt.put(userId, Instant.now());
+        principals.asMap().values().removeIf(cached -> userId.equals(cached.user().getId()));
+    }
+
+    private record CachedPrincipal(User user, Instant expiresAt) {
+    }
+}
@@ -0,0 +1,29 @@
+package dev.deyve.grainpayapi.security;
+
+import dev.deyve.grainpayapi.models.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * JPA listener on {@link User} that drops the user's cached principals when the row is
+ * updated or deleted. Created by Hibernate through Spring; the cache is looked up lazily
+ * so slices without the security beans (repository tests) still boot.
+ */
+public class UserChangeListener {
+
+    @Autowired
+    private ObjectProvider<JwtPrincipalCache> principalCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onChange(User user) {
+        if (principalCache == null) return;
+
+        JwtPrincipalCache cache = principalCache.getIfAvailable();
+        if (cache != null) {
+            cache.invalidateUser(user.getId());
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package dev.deyve.grainpayapi.services;
+
+import dev.deyve.grainpayapi.events.TransactionSnapshot;
+import dev.deyve.grainpayapi.events.TransactionsChangedEvent;
+import dev.deyve.grainpayapi.models.AccountBalanceSnapshot;
+import dev.deyve.grainpayapi.models.TransactionType;
+import dev.deyve.grainpayapi.repositories.AccountBalanceSnapshotRepository;
+import dev.deyve.grainpayapi.repositories.AccountRepository;
+import dev.deyve.grainpayapi.repositories.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps {@code accounts.balance} and the month-end {@code account_balance_snapshots} in
+ * step with {@code transactions}. Like the monthly rollups, deltas are applied inside the
+ * writer's transaction as single-statement increments, so concurrent writers serialise
+ * on the account row instead of overwriting each other.
+ */
+@Service
+public class AccountBalanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountBalanceService.class);
+
+    // Increments lock their rows; a fixed order keeps concurrent writers from deadlocking.
+    private static final Comparator<SnapshotKey> KEY_ORDER = Comparator
+            .comparing(SnapshotKey::accountId)
+            .thenComparing(SnapshotKey::monthEnd);
+
+    private final AccountRepository accountRepository;
+    private final AccountBalanceSnapshotRepository snapshotRepository;
+    private final TransactionRepository transactionRepository;
+
+    public AccountBalanceService(AccountRepository accountRepository,
+                                 AccountBalanceSnapshotRepository snapshotRepository,
+                                 TransactionRepository transactionRepository) {
+        this.accountRepository = accountRepository;
+        this.snapshotRepository = snapshotRepository;
+        this.transactionRepository = transactionRepository;
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        Map<SnapshotKey, BigDecimal> deltas = new HashMap<>();
+        event.removed().stream()
+                .filter(s -> s.accountId() != null)
+                .forEach(s -> deltas.merge(SnapshotKey.of(s), signed(s).negate(), BigDecimal::add));
+        event.added().stream()
+                .filter(s -> s.accountId() != null)
+                .forEach(s -> deltas.merge(SnapshotKey.of(s), signed(s), BigDecimal::add));
+
+        Map<Long, BigDecimal> balanceDeltas = new HashMap<>();
+        deltas.forEach((key, delta) -> balanceDeltas.merge(key.accountId(), delta, BigDecimal::add));
+
+        // Balances first, then snapshots, both in key order.
+        balanceDeltas.entrySet().stream()
+                .filter(e -> e.getValue().signum() != 0)
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> accountRepository.addToBalance(e.getKey(), e.getValue()));
+
+        // Shifted even when no snapshot covers the month yet: the statement's table lock is
+        // what makes a concurrent snapshot job wait for this transaction.
+        deltas.entrySet().stream()
+                .filter(e -> e.getValue().signum() != 0)
+                .sorted(Map.Entry.comparingByKey(KEY_ORDER))
+                .forEach(e -> snapshotRepository.shiftFrom(e.getKey().accountId(), e.getKey().monthEnd(), e.getValue()));
+    }
+
+    /**
+     * The account's balance at the end of {@code asOf}: the nearest month-end snapshot
+     * adjusted by the transactions between it and {@code asOf}, so at most about a month
+     * of rows is scanned for any date inside the snapshotted range.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public BigDecimal balanceAsOf(Long accountId, LocalDate asOf) {
+        Optional<AccountBalanceSnapshot> before = snapshotRepository
+                .findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(accountId, asOf);
+        if (before.isPresent()) {
+            AccountBalanceSnapshot snapshot = before.get();
+            return snapshot.getBalance()
+                    .add(transactionRepository.sumNetByAccountBetween(accountId, snapshot.getAsOf(), asOf));
+        }
+
+        Optional<AccountBalanceSnapshot> after = snapshotRepository
+                .findFirstByAccountIdAndAsOfGreaterThanOrderByAsOfAsc(accountId, asOf);
+        if (after.isPresent()) {
+            AccountBalanceSnapshot snapshot = after.get();
+            return snapshot.getBalance()
+                    .subtract(transactionRepository.sumNetByAccountBetween(accountId, asOf, snapshot.getAsOf()));
+        }
+
+        // Not snapshotted yet (a new account): walk back from the current balance.
+        return accountRepository.findBalanceById(accountId)
+                .subtract(transactionRepository.sumNetByAccountAfter(accountId, asOf));
+    }
+
+    /**
+     * Carries a change of {@code delta} in the account's opening balance into its current
+     * balance and every snapshot. The caller holds the account row lock.
+     */
+    public void shiftOpeningBalance(Long accountId, BigDecimal delta) {
+        accountRepository.addToBalance(accountId, delta);
+        snapshotRepository.shiftAll(accountId, delta);
+    }
+
+    /**
+     * Snapshots every account at each month-end after the latest snapshot, up to the last
+     * closed month. Idempotent; each month builds on the one before it.
+     *
+     * @return number of snapshots written
+     */
+    @Transactional
+    public int snapshotClosedMonths(LocalDate today) {
+        LocalDate lastClosed = YearMonth.from(today).minusMonths(1).atEndOfMonth();
+        LocalDate latest = snapshotRepository.findLatestAsOf();
+        YearMonth month = latest != null ? YearMonth.from(latest).plusMonths(1) : YearMonth.from(lastClosed);
+
+        snapshotRepository.lockForSnapshot();
+        int written = 0;
+        for (; !month.atEndOfMonth().isAfter(lastClosed); month = month.plusMonths(1)) {
+            int rows = snapshotRepository.insertMonthEnd(month.atEndOfMonth());
+            logger.info("GRAIN-API: Account balances snapshotted — asOf={}, accounts={}", month.atEndOfMonth(), rows);
+            written += rows;
+        }
+        return written;
+    }
+
+    private static BigDecimal signed(TransactionSnapshot s) {
+        return s.type() == TransactionType.INCOME ? s.amount() : s.amount().negate();
+    }
+
+    private record SnapshotKey(Long accountId, LocalDate monthEnd) {
+
+        static SnapshotKey of(TransactionSnapshot s) {
+            return new SnapshotKey(s.accountId(), YearMonth.from(s.date()).atEndOfMonth());
+        }
+    }
+}
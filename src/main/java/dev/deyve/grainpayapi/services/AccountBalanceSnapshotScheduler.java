@@ -0,0 +1,35 @@
+package dev.deyve.grainpayapi.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Component
+public class AccountBalanceSnapshotScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountBalanceSnapshotScheduler.class);
+
+    static final String JOB_NAME = "account-balance-snapshots";
+
+    private final AccountBalanceService accountBalanceService;
+    private final PartitionedJobRunner jobRunner;
+
+    public AccountBalanceSnapshotScheduler(AccountBalanceService accountBalanceService, PartitionedJobRunner jobRunner) {
+        this.accountBalanceService = accountBalanceService;
+        this.jobRunner = jobRunner;
+    }
+
+    // Daily rather than on the 1st, so a missed run catches up the next night. One node
+    // per day writes the snapshots; later ticks retry if it died before completing.
+    @Scheduled(cron = "0 15/5 4 * * *")
+    public void snapshotAccountBalances() {
+        LocalDate today = LocalDate.now();
+        jobRunner.runPending(JOB_NAME, today.toString(), 1, (partition, partitions) -> {
+            int written = accountBalanceService.snapshotClosedMonths(today);
+            logger.info("GRAIN-API: Account balance snapshots up to date — written={}", written);
+        });
+    }
+}
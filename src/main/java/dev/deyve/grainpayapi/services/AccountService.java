@@ -1,5 +1,6 @@
 package dev.deyve.grainpayapi.services;
 
+import dev.deyve.grainpayapi.dtos.AccountBalanceResponse;
 import dev.deyve.grainpayapi.dtos.AccountResponse;
 import dev.deyve.grainpayapi.dtos.CreateAccountRequest;
 import dev.deyve.grainpayapi.exceptions.AccountNotFoundException;
@@ -12,6 +13,11 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
 
 @Service
 public class AccountService {
@@ -20,27 +26,36 @@ public class AccountService {
 
     private final AccountRepository accountRepository;
     private final AccountMapper accountMapper;
+    private final AccountBalanceService accountBalanceService;
+    private final UserDataVersionService dataVersionService;
 
-    public AccountService(AccountRepository accountRepository, AccountMapper accountMapper) {
+    public AccountService(AccountRepository accountRepository, AccountMapper accountMapper,
+                          AccountBalanceService accountBalanceService, UserDataVersionService dataVersionService) {
         this.accountRepository = accountRepository;
         this.accountMapper = accountMapper;
+        this.accountBalanceService = accountBalanceService;
+        this.dataVersionService = dataVersionService;
     }
 
+    @Transactional(readOnly = true)
     public Page<AccountResponse> findAll(User user, Pageable pageable) {
         return accountRepository.findAllByUserId(user.getId(), pageable)
                 .map(accountMapper::toResponse);
     }
 
+    @Transactional
     public AccountResponse save(CreateAccountRequest request, User user) {
         Account account = accountMapper.toEntity(request);
         account.setUser(user);
 
         Account saved = accountRepository.save(account);
         logger.debug("GRAIN-API: Account saved: {}", saved.getId());
+        dataVersionService.bump(user.getId());
 
         return accountMapper.toResponse(saved);
     }
 
+    @Transactional(readOnly = true)
     public AccountResponse findById(Long id, User user) {
         Account account = accountRepository.findById(id)
                 .filter(a -> a.getUser().getId().equals(user.getId()))
@@ -49,22 +64,45 @@ public class AccountService {
         return accountMapper.toResponse(account);
     }
 
+    // Same isolation as balanceAsOf, which joins this transaction
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public AccountBalanceResponse findBalance(Long id, LocalDate asOf, User user) {
+        accountRepository.findById(id)
+                .filter(a -> a.getUser().getId().equals(user.getId()))
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + id));
+
+        return new AccountBalanceResponse(id, asOf, accountBalanceService.balanceAsOf(id, asOf));
+    }
+
+    /**
+     * The request's balance is the opening balance; the current balance moves by the
+     * difference, keeping every transaction already applied to it.
+     */
+    @Transactional
     public AccountResponse updateById(Long id, CreateAccountRequest request, User user) {
-        Account existing = accountRepository.findById(id)
+        Account existing = accountRepository.findByIdForUpdate(id)
                 .filter(a -> a.getUser().getId().equals(user.getId()))
                 .orElseThrow(() -> new AccountNotFoundException("Account not found: " + id));
 
         existing.setName(request.name());
         existing.setType(request.type());
         existing.setBankName(request.bankName());
-        existing.setBalance(request.balance());
+
+        BigDecimal delta = request.balance().subtract(existing.getOpeningBalance());
+        if (delta.signum() != 0) {
+            existing.setOpeningBalance(request.balance());
+            accountBalanceService.shiftOpeningBalance(id, delta);
+            existing.setBalance(existing.getBalance().add(delta));
+        }
 
         Account updated = accountRepository.save(existing);
         logger.debug("GRAIN-API: Account updated: {}", updated.getId());
+        dataVersionService.bump(user.getId());
 
         return accountMapper.toResponse(updated);
     }
 
+    @Transactional
     public void deleteById(Long id, User user) {
         accountRepository.findById(id)
                 .filter(a -> a.getUser().getId().equals(user.getId()))
@@ -72,5 +110,6 @@ public class AccountService {
 
         logger.debug("GRAIN-API: Account deleted: {}", id);
         accountRepository.deleteById(id);
+        dataVersionService.bump(user.getId());
     }
 }
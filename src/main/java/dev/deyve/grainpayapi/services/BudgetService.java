@@ -15,6 +15,7 @@ import dev.deyve.grainpayapi.repositories.TransactionRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -32,24 +33,32 @@ public class BudgetService {
     private final CategoryRepository categoryRepository;
     private final TransactionRepository transactionRepository;
     private final CategoryMapper categoryMapper;
+    private final BudgetThresholdMonitor thresholdMonitor;
+    private final UserDataVersionService dataVersionService;
 
     public BudgetService(BudgetRepository budgetRepository,
                          CategoryRepository categoryRepository,
                          TransactionRepository transactionRepository,
-                         CategoryMapper categoryMapper) {
+                         CategoryMapper categoryMapper,
+                         BudgetThresholdMonitor thresholdMonitor,
+                         UserDataVersionService dataVersionService) {
         this.budgetRepository = budgetRepository;
         this.categoryRepository = categoryRepository;
         this.transactionRepository = transactionRepository;
         this.categoryMapper = categoryMapper;
+        this.thresholdMonitor = thresholdMonitor;
+        this.dataVersionService = dataVersionService;
     }
 
+    @Transactional(readOnly = true)
     public List<BudgetResponse> findAllByMonth(YearMonth month, User user) {
-        return budgetRepository.findAllByUserIdAndMonthAndYear(user.getId(), month.getMonthValue(), month.getYear())
+        return budgetRepository.findAllWithSpentByUserIdAndMonthAndYear(user.getId(), month.getMonthValue(), month.getYear())
                 .stream()
-                .map(budget -> toResponse(budget, month))
+                .map(row -> toResponse((Budget) row[0], (Category) row[1], (BigDecimal) row[2]))
                 .toList();
     }
 
+    @Transactional
     public BudgetResponse save(CreateBudgetRequest request, User user) {
         Category category = resolveCategory(request.categoryId(), user);
 
@@ -70,11 +79,14 @@ public class BudgetService {
 
         Budget saved = budgetRepository.save(budget);
         logger.debug("GRAIN-API: Budget saved: {}", saved.getId());
+        dataVersionService.bump(user.getId());
 
         YearMonth month = YearMonth.of(saved.getYear(), saved.getMonth());
+        thresholdMonitor.checkBudget(user.getId(), category.getId(), month);
         return toResponse(saved, month);
     }
 
+    @Transactional
     public BudgetResponse updateById(Long id, CreateBudgetRequest request, User user) {
         Budget existing = findBudgetForUser(id, user);
         Category category = resolveCategory(request.categoryId(), user);
@@ -86,15 +98,19 @@ public class BudgetService {
 
         Budget updated = budgetRepository.save(existing);
         logger.debug("GRAIN-API: Budget updated: {}", updated.getId());
+        dataVersionService.bump(user.getId());
 
         YearMonth month = YearMonth.of(updated.getYear(), updated.getMonth());
+        thresholdMonitor.checkBudget(user.getId(), category.getId(), month);
         return toResponse(updated, month);
     }
 
+    @Transactional
     public void deleteById(Long id, User user) {
         findBudgetForUser(id, user);
         logger.debug("GRAIN-API: Budget deleted: {}", id);
         budgetRepository.deleteById(id);
+        dataVersionService.bump(user.getId());
     }
 
     private Budget findBudgetForUser(Long id, User user) {
@@ -116,6 +132,10 @@ public class BudgetService {
         BigDecimal spent = transactionRepository.sumExpensesByUserAndCategoryAndDateBetween(
                 budget.getUser().getId(), budget.getCategory().getId(), start, end);
 
+        return toResponse(budget, budget.getCategory(), spent);
+    }
+
+    private BudgetResponse toResponse(Budget budget, Category category, BigDecimal spent) {
         BigDecimal percentage = budget.getLimitAmount().compareTo(BigDecimal.ZERO) == 0
                 ? BigDecimal.ZERO
                 : spent.multiply(new BigDecimal("100"))
@@ -123,7 +143,7 @@ public class BudgetService {
 
         boolean alert = percentage.compareTo(ALERT_THRESHOLD) >= 0;
 
-        CategoryResponse categoryResponse = categoryMapper.toResponse(budget.getCategory());
+        CategoryResponse categoryResponse = categoryMapper.toResponse(category);
 
         return new BudgetResponse(
                 budget.getId(),
@@ -0,0 +1,85 @@
+package dev.deyve.grainpayapi.services;
+
+import dev.deyve.grainpayapi.events.TransactionSnapshot;
+import dev.deyve.grainpayapi.events.TransactionsChangedEvent;
+import dev.deyve.grainpayapi.models.TransactionType;
+import dev.deyve.grainpayapi.repositories.BudgetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Raises budget alerts as soon as a write takes a budget to {@link #ALERT_THRESHOLD}.
+ * Runs after {@link MonthlyRollupService} in the writer's transaction, so the month's
+ * expenses are read from the rollup row it just updated instead of being summed again,
+ * and the alert is queued in {@code email_outbox} only if the write commits.
+ *
+ * <p>Only budgets of the current month or later are checked, so importing old statements
+ * never alerts on months already closed.
+ */
+@Service
+public class BudgetThresholdMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(BudgetThresholdMonitor.class);
+
+    static final BigDecimal ALERT_THRESHOLD = new BigDecimal("80");
+
+    private final BudgetRepository budgetRepository;
+
+    public BudgetThresholdMonitor(BudgetRepository budgetRepository) {
+        this.budgetRepository = budgetRepository;
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE + 2)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        YearMonth current = YearMonth.now();
+
+        // Only additions can push spending up; an update arrives as removal plus addition.
+        Map<YearMonth, Touched> touched = new TreeMap<>();
+        event.added().stream()
+                .filter(s -> s.type() == TransactionType.EXPENSE && s.categoryId() != null)
+                .filter(s -> !YearMonth.from(s.date()).isBefore(current))
+                .forEach(s -> touched.computeIfAbsent(YearMonth.from(s.date()), m -> new Touched()).add(s));
+
+        touched.forEach((month, t) -> check(month, t.userIds, t.categoryIds));
+    }
+
+    /**
+     * Checks one budget right after it was created or changed, since it may already be
+     * over the threshold.
+     */
+    public void checkBudget(Long userId, Long categoryId, YearMonth month) {
+        if (month.isBefore(YearMonth.now())) return;
+        check(month, Set.of(userId), Set.of(categoryId));
+    }
+
+    private void check(YearMonth month, Set<Long> userIds, Set<Long> categoryIds) {
+        int queued = budgetRepository.queueAlerts(month.getMonthValue(), month.getYear(), ALERT_THRESHOLD,
+                userIds, categoryIds);
+        if (queued > 0) {
+            logger.info("GRAIN-API: Budget alerts queued for {} — count={}", month, queued);
+        }
+    }
+
+    private static final class Touched {
+
+        private final Set<Long> userIds = new HashSet<>();
+        private final Set<Long> categoryIds = new HashSet<>();
+
+        private void add(TransactionSnapshot snapshot) {
+            userIds.add(snapshot.userId());
+            categoryIds.add(snapshot.categoryId());
+        }
+    }
+}
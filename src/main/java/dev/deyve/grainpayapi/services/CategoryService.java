@@ -12,6 +12,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class CategoryService {
@@ -20,27 +21,34 @@ public class CategoryService {
 
     private final CategoryRepository categoryRepository;
     private final CategoryMapper categoryMapper;
+    private final UserDataVersionService dataVersionService;
 
-    public CategoryService(CategoryRepository categoryRepository, CategoryMapper categoryMapper) {
+    public CategoryService(CategoryRepository categoryRepository, CategoryMapper categoryMapper,
+                           UserDataVersionService dataVersionService) {
         this.categoryRepository = categoryRepository;
         this.categoryMapper = categoryMapper;
+        this.dataVersionService = dataVersionService;
     }
 
+    @Transactional(readOnly = true)
     public Page<CategoryResponse> findAll(User user, Pageable pageable) {
         return categoryRepository.findAllByUserId(user.getId(), pageable)
                 .map(categoryMapper::toResponse);
     }
 
+    @Transactional
     public CategoryResponse save(CreateCategoryRequest request, User user) {
         Category category = categoryMapper.toEntity(request);
         category.setUser(user);
 
         Category saved = categoryRepository.save(category);
         logger.debug("GRAIN-API: Category saved: {}", saved.getId());
+        dataVersionService.bump(user.getId());
 
         return categoryMapper.toResponse(saved);
     }
 
+    @Transactional(readOnly = true)
     public CategoryResponse findById(Long id, User user) {
         Category category = categoryRepository.findById(id)
                 .filter(c -> c.getUser().getId().equals(user.getId()))
@@ -49,6 +57,7 @@ public class CategoryService {
         return categoryMapper.toResponse(category);
     }
 
+    @Transactional
     public CategoryResponse updateById(Long id, CreateCategoryRequest request, User user) {
         Category existing = categoryRepository.findById(id)
                 .filter(c -> c.getUser().getId().equals(user.getId()))
@@ -61,10 +70,13 @@ public class CategoryService {
 
         Category updated = categoryRepository.save(existing);
         logger.debug("GRAIN-API: Category updated: {}", updated.getId());
+        // Also drops the cached dashboards, which show the category by name
+        dataVersionService.bump(user.getId());
 
         return categoryMapper.toResponse(updated);
     }
 
+    @Transactional
     public void deleteById(Long id, User user) {
         categoryRepository.findById(id)
                 .filter(c -> c.getUser().getId().equals(user.getId()))
@@ -72,5 +84,6 @@ public class CategoryService {
 
         logger.debug("GRAIN-API: Category deleted: {}", id);
         categoryRepository.deleteById(id);
+        dataVersionService.bump(user.getId());
     }
 }
@@ -0,0 +1,67 @@
+package dev.deyve.grainpayapi.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import dev.deyve.grainpayapi.dtos.DashboardSummaryResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.function.Supplier;
+
+/**
+ * Dashboard summaries by user and month (with or without the previous month for
+ * comparison), so repeated page loads skip the rollup query. Entries are bounded by
+ * {@code dashboard.cache.max-size} (0 turns the cache off) and expire after
+ * {@code dashboard.cache.ttl}.
+ * Hit, miss and eviction counts are published as the {@code dashboard.summary} cache
+ * metrics. Local to this instance, like {@code JwtPrincipalCache}.
+ *
+ * <p>Entries are keyed by the user's data version ({@link UserDataVersionService}), which
+ * every write bumps within its own transaction, on whichever node it runs, and so does a
+ * rollup rebuild. The caller reads the version before loading, so a summary is always at
+ * least as new as the version it is stored under; after a write, the entries of older
+ * versions are no longer looked up and simply age out.
+ */
+@Component
+public class DashboardCache {
+
+    static final String CACHE_NAME = "dashboard.summary";
+
+    private final Cache<Key, DashboardSummaryResponse> summaries;
+    // Caffeine evicts asynchronously, so a zero-size cache would still answer some hits
+    private final boolean enabled;
+
+    public DashboardCache(@Value("${dashboard.cache.max-size:10000}") long maxSize,
+                          @Value("${dashboard.cache.ttl:10m}") Duration ttl,
+                          MeterRegistry meterRegistry) {
+        this.summaries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, summaries, CACHE_NAME);
+        this.enabled = maxSize > 0;
+    }
+
+    public DashboardSummaryResponse get(Long userId, long dataVersion, YearMonth month, boolean compare,
+                                        Supplier<DashboardSummaryResponse> loader) {
+        if (!enabled) return loader.get();
+
+        Key key = new Key(userId, dataVersion, month, compare);
+        DashboardSummaryResponse cached = summaries.getIfPresent(key);
+        if (cached != null) return cached;
+
+        // Loaded outside the cache's lock: concurrent misses may both query, but a slow
+        // query never blocks other users' entries.
+        DashboardSummaryResponse loaded = loader.get();
+        summaries.put(key, loaded);
+        return loaded;
+    }
+
+    private record Key(Long userId, long dataVersion, YearMonth month, boolean compare) {
+    }
+}
@@ -6,44 +6,94 @@ import dev.deyve.grainpayapi.dtos.SourceSummary;
 import dev.deyve.grainpayapi.models.IncomeSource;
 import dev.deyve.grainpayapi.models.TransactionType;
 import dev.deyve.grainpayapi.models.User;
-import dev.deyve.grainpayapi.repositories.TransactionRepository;
+import dev.deyve.grainpayapi.repositories.MonthlyRollupRepository;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class DashboardService {
 
-    private final TransactionRepository transactionRepository;
+    // Grouping sets of MonthlyRollupRepository.summarizeMonths
+    private static final int TYPE_TOTAL = 3;
+    private static final int BY_CATEGORY = 1;
 
-    public DashboardService(TransactionRepository transactionRepository) {
-        this.transactionRepository = transactionRepository;
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final DashboardCache dashboardCache;
+    private final UserDataVersionService dataVersionService;
+
+    public DashboardService(MonthlyRollupRepository monthlyRollupRepository, DashboardCache dashboardCache,
+                            UserDataVersionService dataVersionService) {
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.dashboardCache = dashboardCache;
+        this.dataVersionService = dataVersionService;
+    }
+
+    /**
+     * The month's summary; with {@code compare}, the previous month's summary is read in
+     * the same query and nested in {@code previousMonth}.
+     *
+     * <p>Not transactional on purpose: a cache hit costs only the version lookup, and a
+     * miss runs a single query in the repository's own read-only transaction. The version
+     * is read first, so the summary is never older than the data version it is cached
+     * under, nor than the ETag version read before the handler.
+     */
+    public DashboardSummaryResponse getSummary(YearMonth month, boolean compare, User user) {
+        long dataVersion = dataVersionService.current(user.getId());
+        return dashboardCache.get(user.getId(), dataVersion, month, compare,
+                () -> computeSummary(month, compare, user.getId()));
+    }
+
+    private DashboardSummaryResponse computeSummary(YearMonth month, boolean compare, Long userId) {
+        YearMonth other = compare ? month.minusMonths(1) : month;
+
+        Map<YearMonth, MonthTotals> totals = new HashMap<>();
+        for (Object[] row : monthlyRollupRepository.summarizeMonths(userId, month.getYear(), month.getMonthValue(),
+                other.getYear(), other.getMonthValue())) {
+            YearMonth rowMonth = YearMonth.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue());
+            totals.computeIfAbsent(rowMonth, m -> new MonthTotals()).add(row);
+        }
+
+        MonthTotals current = totals.getOrDefault(month, new MonthTotals());
+        if (!compare) {
+            return current.toResponse(null);
+        }
+        return current.toResponse(totals.getOrDefault(other, new MonthTotals()).toResponse(null));
     }
 
-    public DashboardSummaryResponse getSummary(YearMonth month, User user) {
-        LocalDate start = month.atDay(1);
-        LocalDate end = month.atEndOfMonth();
-        Long userId = user.getId();
+    private static final class MonthTotals {
 
-        BigDecimal totalIncome = transactionRepository.sumByUserAndTypeAndDateBetween(userId, TransactionType.INCOME, start, end);
-        BigDecimal totalExpenses = transactionRepository.sumByUserAndTypeAndDateBetween(userId, TransactionType.EXPENSE, start, end);
-        BigDecimal balance = totalIncome.subtract(totalExpenses);
+        private BigDecimal income = BigDecimal.ZERO;
+        private BigDecimal expenses = BigDecimal.ZERO;
+        private final List<CategorySummary> byCategory = new ArrayList<>();
+        private final List<SourceSummary> bySource = new ArrayList<>();
 
-        List<CategorySummary> expensesByCategory = transactionRepository
-                .sumExpensesByCategoryAndDateBetween(userId, start, end)
-                .stream()
-                .map(row -> new CategorySummary((String) row[0], (BigDecimal) row[1]))
-                .toList();
+        private void add(Object[] row) {
+            TransactionType type = TransactionType.valueOf((String) row[2]);
+            int kind = ((Number) row[5]).intValue();
+            BigDecimal total = (BigDecimal) row[6];
 
-        List<SourceSummary> incomeBySource = transactionRepository
-                .sumIncomeBySourceAndDateBetween(userId, start, end)
-                .stream()
-                .map(row -> new SourceSummary((IncomeSource) row[0], (BigDecimal) row[1]))
-                .toList();
+            if (kind == TYPE_TOTAL) {
+                if (type == TransactionType.INCOME) {
+                    income = total;
+                } else {
+                    expenses = total;
+                }
+            } else if (kind == BY_CATEGORY) {
+                byCategory.add(new CategorySummary((String) row[3], total));
+            } else {
+                bySource.add(new SourceSummary(IncomeSource.valueOf((String) row[4]), total));
+            }
+        }
 
-        return new DashboardSummaryResponse(totalIncome, totalExpenses, balance, expensesByCategory, incomeBySource);
+        private DashboardSummaryResponse toResponse(DashboardSummaryResponse previousMonth) {
+            return new DashboardSummaryResponse(income, expenses, income.subtract(expenses),
+                    List.copyOf(byCategory), List.copyOf(bySource), previousMonth);
+        }
     }
 }
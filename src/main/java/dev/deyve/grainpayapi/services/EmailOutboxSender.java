@@ -0,0 +1,173 @@
+package dev.deyve.grainpayapi.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.deyve.grainpayapi.repositories.EmailOutboxRepository;
+import dev.deyve.grainpayapi.repositories.EmailOutboxRepository.PendingEmail;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Delivers the emails queued in {@code email_outbox}. Each poll claims due rows in batches
+ * and sends them on a small pool of its own, so a slow SMTP server only delays the emails,
+ * never the writes that queued them. A failed send is retried with exponential backoff until
+ * {@code notification.outbox.max-attempts}, then left as FAILED.
+ */
+@Component
+public class EmailOutboxSender {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxSender.class);
+
+    static final String BUDGET_ALERT = "BUDGET_ALERT";
+
+    // Longer than any single send; a row claimed by a sender that died is due again after it.
+    static final Duration CLAIM_LEASE = Duration.ofMinutes(5);
+    static final Duration FIRST_BACKOFF = Duration.ofMinutes(1);
+    static final Duration MAX_BACKOFF = Duration.ofHours(6);
+    static final Duration SENT_RETENTION = Duration.ofDays(30);
+
+    private final EmailOutboxRepository outboxRepository;
+    private final EmailService emailService;
+    private final ObjectMapper objectMapper;
+    private final Executor executor;
+    private final int batchSize;
+    private final int maxAttempts;
+
+    @Autowired
+    public EmailOutboxSender(EmailOutboxRepository outboxRepository,
+                             EmailService emailService,
+                             ObjectMapper objectMapper,
+                             @Value("${notification.outbox.concurrency:4}") int concurrency,
+                             @Value("${notification.outbox.batch-size:100}") int batchSize,
+                             @Value("${notification.outbox.max-attempts:8}") int maxAttempts) {
+        this(outboxRepository, emailService, objectMapper, senderPool(concurrency, batchSize), batchSize, maxAttempts);
+    }
+
+    EmailOutboxSender(EmailOutboxRepository outboxRepository,
+                      EmailService emailService,
+                      ObjectMapper objectMapper,
+                      Executor executor,
+                      int batchSize,
+                      int maxAttempts) {
+        this.outboxRepository = outboxRepository;
+        this.emailService = emailService;
+        this.objectMapper = objectMapper;
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+    }
+
+    // A batch never exceeds the queue, so the pool never rejects a send.
+    private static ThreadPoolTaskExecutor senderPool(int concurrency, int batchSize) {
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(concurrency);
+        pool.setMaxPoolSize(concurrency);
+        pool.setQueueCapacity(batchSize);
+        pool.setThreadNamePrefix("mail-");
+        pool.initialize();
+        return pool;
+    }
+
+    @Scheduled(fixedDelay = 30, timeUnit = TimeUnit.SECONDS)
+    public void sendPending() {
+        int sent = 0;
+        int claimed;
+        do {
+            claimed = sendBatch();
+            sent += claimed;
+        } while (claimed == batchSize);
+
+        if (sent > 0) {
+            logger.info("GRAIN-API: Email outbox processed {} emails", sent);
+        }
+    }
+
+    /**
+     * Claims one batch of due emails and waits until each one was sent or rescheduled.
+     *
+     * @return the number of emails claimed
+     */
+    int sendBatch() {
+        List<PendingEmail> batch = outboxRepository.claimDue(batchSize, CLAIM_LEASE);
+        CompletableFuture.allOf(batch.stream()
+                        .map(email -> CompletableFuture.runAsync(() -> send(email), executor))
+                        .toArray(CompletableFuture[]::new))
+                .join();
+        return batch.size();
+    }
+
+    @Scheduled(cron = "0 30 4 * * *")
+    public void purgeSent() {
+        int deleted = outboxRepository.deleteSentBefore(SENT_RETENTION);
+        logger.info("GRAIN-API: Email outbox purge complete — deleted={}", deleted);
+    }
+
+    private void send(PendingEmail email) {
+        try {
+            deliver(email);
+            outboxRepository.markSent(email.id());
+        } catch (RuntimeException e) {
+            if (email.attempts() >= maxAttempts) {
+                outboxRepository.markFailed(email.id(), e.getMessage());
+                logger.error("GRAIN-API: Email {} to {} failed after {} attempts: {}",
+                        email.id(), email.recipient(), email.attempts(), e.getMessage());
+            } else {
+                Duration backoff = backoff(email.attempts());
+                outboxRepository.retryLater(email.id(), e.getMessage(), backoff);
+                logger.warn("GRAIN-API: Email {} to {} failed (attempt {}), retrying in {}: {}",
+                        email.id(), email.recipient(), email.attempts(), backoff, e.getMessage());
+            }
+        }
+    }
+
+    private void deliver(PendingEmail email) {
+        if (!BUDGET_ALERT.equals(email.kind())) {
+            throw new IllegalStateException("Unknown email kind: " + email.kind());
+        }
+        BudgetAlert alert = read(email.payload(), BudgetAlert.class);
+        emailService.sendBudgetAlert(email.recipient(), alert.userName(), alert.categoryName(),
+                alert.spent(), alert.limit(), alert.percentage(), alert.month(), alert.year());
+    }
+
+    private <T> T read(String payload, Class<T> type) {
+        try {
+            return objectMapper.readValue(payload, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable email payload: " + e.getOriginalMessage(), e);
+        }
+    }
+
+    /**
+     * Delay before the next try after {@code attempts} failed ones: one minute, doubling
+     * each time, capped at six hours.
+     */
+    static Duration backoff(int attempts) {
+        Duration delay = FIRST_BACKOFF.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(MAX_BACKOFF) < 0 ? delay : MAX_BACKOFF;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+    }
+
+    // Written by BudgetRepository.queueAlerts
+    record BudgetAlert(String userName, String categoryName, BigDecimal spent, BigDecimal limit,
+                       BigDecimal percentage, int month, int year) {
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.mail.internet.MimeMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailPreparationException;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
@@ -25,6 +26,11 @@ public class EmailService {
         this.mailSender = mailSender;
     }
 
+    /**
+     * Sends the alert right away.
+     *
+     * @throws org.springframework.mail.MailException if the message cannot be built or sent
+     */
     public void sendBudgetAlert(String toEmail, String userName, String categoryName,
                                 BigDecimal spent, BigDecimal limit, BigDecimal percentage,
                                 int month, int year) {
@@ -40,7 +46,7 @@ public class EmailService {
             mailSender.send(message);
             logger.info("GRAIN-API: Budget alert email sent to {} for category {}", toEmail, categoryName);
         } catch (MessagingException e) {
-            logger.error("GRAIN-API: Failed to send budget alert email to {}: {}", toEmail, e.getMessage());
+            throw new MailPreparationException("Could not build budget alert email: " + e.getMessage(), e);
         }
     }
 
@@ -10,6 +10,7 @@ import dev.deyve.grainpayapi.repositories.GoalRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -26,6 +27,7 @@ public class GoalService {
         this.goalRepository = goalRepository;
     }
 
+    @Transactional(readOnly = true)
     public List<GoalResponse> findAll(User user) {
         return goalRepository.findAllByUserId(user.getId())
                 .stream()
@@ -33,6 +35,7 @@ public class GoalService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
     public GoalResponse findById(Long id, User user) {
         return toResponse(findGoalForUser(id, user));
     }
@@ -0,0 +1,256 @@
+package dev.deyve.grainpayapi.services;
+
+import dev.deyve.grainpayapi.dtos.ImportJobResponse;
+import dev.deyve.grainpayapi.dtos.ImportResultResponse;
+import dev.deyve.grainpayapi.dtos.ImportRowError;
+import dev.deyve.grainpayapi.exceptions.ImportJobNotFoundException;
+import dev.deyve.grainpayapi.exceptions.ImportQueueFullException;
+import dev.deyve.grainpayapi.exceptions.InternalServerError;
+import dev.deyve.grainpayapi.models.ImportJob;
+import dev.deyve.grainpayapi.models.ImportJobError;
+import dev.deyve.grainpayapi.models.ImportJobStatus;
+import dev.deyve.grainpayapi.models.User;
+import dev.deyve.grainpayapi.repositories.ImportJobErrorRepository;
+import dev.deyve.grainpayapi.repositories.ImportJobRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs CSV imports in the background: the upload is spooled to a temp file, a job row is
+ * returned right away, and a bounded pool of workers feeds the file to
+ * {@link ImportService#importCsvInChunks} while the job counters follow each commit.
+ * Jobs are owned by the node that accepted them, which keeps their heartbeat fresh; a job
+ * whose node restarted or stopped beating is failed, and its worker, if still alive,
+ * stops at the next chunk.
+ */
+@Service
+public class ImportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImportJobService.class);
+
+    static final int CHUNK_SIZE = 1000;
+    static final int MAX_STORED_ERRORS = 1000;
+
+    private final ImportJobRepository importJobRepository;
+    private final ImportJobErrorRepository importJobErrorRepository;
+    private final ImportService importService;
+    private final TaskExecutor executor;
+    private final String nodeId;
+    private final Duration lease;
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    @Autowired
+    public ImportJobService(ImportJobRepository importJobRepository,
+                            ImportJobErrorRepository importJobErrorRepository,
+                            ImportService importService,
+                            @Value("${import.workers:2}") int workers,
+                            @Value("${import.queue-capacity:20}") int queueCapacity,
+                            @Value("${jobs.node-id:}") String nodeId,
+                            @Value("${import.lease:5m}") Duration lease,
+                            TaskDecorator taskDecorator) {
+        this(importJobRepository, importJobErrorRepository, importService,
+                workerPool(workers, queueCapacity, taskDecorator), PartitionedJobRunner.nodeId(nodeId), lease);
+    }
+
+    ImportJobService(ImportJobRepository importJobRepository,
+                     ImportJobErrorRepository importJobErrorRepository,
+                     ImportService importService,
+                     TaskExecutor executor,
+                     String nodeId,
+                     Duration lease) {
+        this.importJobRepository = importJobRepository;
+        this.importJobErrorRepository = importJobErrorRepository;
+        this.importService = importService;
+        this.executor = executor;
+        this.nodeId = nodeId;
+        this.lease = lease;
+    }
+
+    // Kept private to the service: an Executor bean would make Spring Boot back off from
+    // the applicationTaskExecutor used by MVC async (streamed exports). The decorator
+    // charges each job's SQL to the user who submitted it.
+    private static ThreadPoolTaskExecutor workerPool(int workers, int queueCapacity, TaskDecorator taskDecorator) {
+        ThreadPoolTaskExecutor pool = new ThreadPoolTaskExecutor();
+        pool.setTaskDecorator(taskDecorator);
+        pool.setCorePoolSize(workers);
+        pool.setMaxPoolSize(workers);
+        pool.setQueueCapacity(queueCapacity);
+        pool.setThreadNamePrefix("import-");
+        pool.initialize();
+        return pool;
+    }
+
+    public ImportJobResponse submit(MultipartFile file, User user) {
+        Path spool = spool(file);
+
+        ImportJob job = new ImportJob();
+        job.setUser(user);
+        job.setFilename(file.getOriginalFilename());
+        job.setOwner(nodeId);
+        ImportJob saved = importJobRepository.save(job);
+
+        try {
+            executor.execute(() -> run(saved.getId(), spool, user));
+        } catch (TaskRejectedException e) {
+            deleteQuietly(spool);
+            importJobRepository.finish(saved.getId(), ImportJobStatus.PENDING, ImportJobStatus.FAILED, "Import queue is full", LocalDateTime.now());
+            logger.warn("GRAIN-API: Import job {} rejected, queue is full", saved.getId());
+            throw new ImportQueueFullException("Too many imports in progress, try again later");
+        }
+
+        logger.info("GRAIN-API: Import job {} queued — filename={} size={}", saved.getId(), file.getOriginalFilename(), file.getSize());
+        return toResponse(saved, List.of());
+    }
+
+    @Transactional(readOnly = true)
+    public ImportJobResponse findById(UUID id, User user) {
+        ImportJob job = importJobRepository.findByIdAndUserId(id, user.getId())
+                .orElseThrow(() -> new ImportJobNotFoundException("Import job not found: " + id));
+
+        List<ImportRowError> errors = importJobErrorRepository.findAllByJobIdOrderByLineAsc(id).stream()
+                .map(e -> new ImportRowError(e.getLine(), e.getReason()))
+                .toList();
+        return toResponse(job, errors);
+    }
+
+    void run(UUID jobId, Path spool, User user) {
+        try {
+            if (importJobRepository.transition(jobId, ImportJobStatus.PENDING, ImportJobStatus.RUNNING) == 0) {
+                logger.warn("GRAIN-API: Import job {} is no longer pending, skipping", jobId);
+                return;
+            }
+
+            AtomicInteger storedErrors = new AtomicInteger();
+            importService.importCsvInChunks(spool, user, CHUNK_SIZE, chunk -> recordChunk(jobId, chunk, storedErrors));
+
+            if (importJobRepository.finish(jobId, ImportJobStatus.RUNNING, ImportJobStatus.COMPLETED, null, LocalDateTime.now()) == 0) {
+                logger.warn("GRAIN-API: Import job {} was failed as abandoned before it completed", jobId);
+                return;
+            }
+            logger.info("GRAIN-API: Import job {} completed", jobId);
+        } catch (Exception e) {
+            logger.error("GRAIN-API: Import job {} failed: {}", jobId, e.getMessage());
+            importJobRepository.finish(jobId, ImportJobStatus.RUNNING, ImportJobStatus.FAILED, truncate(e.getMessage()), LocalDateTime.now());
+        } finally {
+            deleteQuietly(spool);
+        }
+    }
+
+    /**
+     * Runs inside the chunk's transaction. Only the first {@link #MAX_STORED_ERRORS} rejected
+     * lines are kept; {@code failed} still counts all of them. If the job was failed as
+     * abandoned meanwhile, throwing rolls the chunk back and stops the import.
+     */
+    private void recordChunk(UUID jobId, ImportResultResponse chunk, AtomicInteger storedErrors) {
+        int processed = chunk.imported() + chunk.duplicates() + chunk.failed();
+        if (importJobRepository.addProgress(jobId, processed, chunk.imported(), chunk.duplicates(), chunk.failed()) == 0) {
+            throw new IllegalStateException("Import job " + jobId + " is no longer running");
+        }
+
+        int room = MAX_STORED_ERRORS - storedErrors.get();
+        if (room > 0 && !chunk.errors().isEmpty()) {
+            List<ImportJobError> errors = chunk.errors().stream()
+                    .limit(room)
+                    .map(e -> new ImportJobError(jobId, e.line(), e.reason()))
+                    .toList();
+            importJobErrorRepository.saveAll(errors);
+            storedErrors.addAndGet(errors.size());
+        }
+    }
+
+    /**
+     * Workers live in this process, so jobs it accepted before a restart will never finish.
+     * Jobs of other live nodes are left alone.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void failInterruptedJobs() {
+        failAbandonedJobs();
+    }
+
+    /**
+     * Keeps this node's jobs alive well within {@code import.lease}, then fails the jobs of
+     * nodes that stopped doing the same.
+     */
+    @Scheduled(fixedDelayString = "${import.heartbeat:1m}")
+    public void heartbeat() {
+        importJobRepository.heartbeat(nodeId, startedAt);
+        failAbandonedJobs();
+    }
+
+    private void failAbandonedJobs() {
+        int abandoned = importJobRepository.failAbandoned(nodeId, startedAt, lease.toSeconds(),
+                "Interrupted: the server running the import stopped", LocalDateTime.now());
+        if (abandoned > 0) {
+            logger.warn("GRAIN-API: Marked {} abandoned import job(s) as failed", abandoned);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ThreadPoolTaskExecutor pool) {
+            pool.shutdown();
+        }
+    }
+
+    private Path spool(MultipartFile file) {
+        try {
+            Path spool = Files.createTempFile("grain-import-", ".csv");
+            file.transferTo(spool);
+            return spool;
+        } catch (IOException e) {
+            logger.error("GRAIN-API: Failed to spool import upload: {}", e.getMessage());
+            throw new InternalServerError("Failed to store the uploaded file");
+        }
+    }
+
+    private void deleteQuietly(Path spool) {
+        try {
+            Files.deleteIfExists(spool);
+        } catch (IOException e) {
+            logger.warn("GRAIN-API: Failed to delete import spool {}: {}", spool, e.getMessage());
+        }
+    }
+
+    private String truncate(String message) {
+        if (message == null) return null;
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+
+    private ImportJobResponse toResponse(ImportJob job, List<ImportRowError> errors) {
+        return new ImportJobResponse(
+                job.getId(),
+                job.getStatus(),
+                job.getFilename(),
+                job.getRowsProcessed(),
+                job.getImported(),
+                job.getDuplicates(),
+                job.getFailed(),
+                errors,
+                job.getMessage(),
+                job.getCreatedAt(),
+                job.getFinishedAt()
+        );
+    }
+}
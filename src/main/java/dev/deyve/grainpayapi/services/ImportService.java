@@ -2,27 +2,41 @@ package dev.deyve.grainpayapi.services;
 
 import dev.deyve.grainpayapi.dtos.ImportResultResponse;
 import dev.deyve.grainpayapi.dtos.ImportRowError;
+import dev.deyve.grainpayapi.dtos.TransactionFingerprint;
+import dev.deyve.grainpayapi.events.TransactionsChangedEvent;
 import dev.deyve.grainpayapi.models.*;
 import dev.deyve.grainpayapi.repositories.AccountRepository;
 import dev.deyve.grainpayapi.repositories.CategoryRepository;
+import dev.deyve.grainpayapi.repositories.TransactionBulkInserter;
 import dev.deyve.grainpayapi.repositories.TransactionRepository;
 import org.apache.commons.csv.CSVFormat;
 import org.apache.commons.csv.CSVParser;
 import org.apache.commons.csv.CSVRecord;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 public class ImportService {
@@ -32,65 +46,139 @@ public class ImportService {
     private final TransactionRepository transactionRepository;
     private final CategoryRepository categoryRepository;
     private final AccountRepository accountRepository;
+    private final TransactionBulkInserter transactionBulkInserter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final TenantUsageTracker tenantUsageTracker;
 
     public ImportService(TransactionRepository transactionRepository,
                          CategoryRepository categoryRepository,
-                         AccountRepository accountRepository) {
+                         AccountRepository accountRepository,
+                         TransactionBulkInserter transactionBulkInserter,
+                         ApplicationEventPublisher eventPublisher,
+                         PlatformTransactionManager transactionManager,
+                         TenantUsageTracker tenantUsageTracker) {
         this.transactionRepository = transactionRepository;
         this.categoryRepository = categoryRepository;
         this.accountRepository = accountRepository;
+        this.transactionBulkInserter = transactionBulkInserter;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tenantUsageTracker = tenantUsageTracker;
     }
 
     @Transactional
     public ImportResultResponse importCsv(MultipartFile file, User user) {
-        List<Category> categories = categoryRepository.findAllByUserIdOrderByNameAsc(user.getId());
-        List<Account> accounts = accountRepository.findAllByUserIdOrderByNameAsc(user.getId());
+        NameMatcher<Category> categories = categoryMatcher(user);
+        NameMatcher<Account> accounts = accountMatcher(user);
 
-        List<Transaction> toSave = new ArrayList<>();
+        List<ParsedRow> parsed = new ArrayList<>();
         List<ImportRowError> errors = new ArrayList<>();
-        int duplicates = 0;
 
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(file.getInputStream(), StandardCharsets.UTF_8));
-             CSVParser parser = CSVFormat.DEFAULT.builder()
-                     .setHeader("date", "description", "amount")
-                     .setSkipHeaderRecord(true)
-                     .setTrim(true)
-                     .build()
-                     .parse(reader)) {
+        try (CSVParser parser = openParser(file.getInputStream())) {
+            int lineNumber = 1;
+            for (CSVRecord record : parser) {
+                lineNumber++;
+                parseInto(record, lineNumber, user, categories, accounts, parsed, errors);
+            }
+        } catch (Exception e) {
+            logger.error("GRAIN-API: Failed to parse CSV file: {}", e.getMessage());
+            throw new IllegalArgumentException("Failed to read CSV file: " + e.getMessage());
+        }
 
+        ImportResultResponse result = saveRows(parsed, errors, user);
+        logger.info("GRAIN-API: Import finished — imported={}, duplicates={}, failed={}", result.imported(), result.duplicates(), result.failed());
+        return result;
+    }
+
+    /**
+     * Imports a spooled CSV file {@code chunkSize} lines at a time. Each chunk is committed
+     * in its own transaction, and {@code onChunk} runs inside it with the chunk's counts, so
+     * whatever it writes commits or rolls back with the rows. Duplicates of rows committed
+     * by earlier chunks are caught by the fingerprint query like any stored transaction.
+     */
+    public void importCsvInChunks(Path file, User user, int chunkSize, Consumer<ImportResultResponse> onChunk) {
+        NameMatcher<Category> categories = categoryMatcher(user);
+        NameMatcher<Account> accounts = accountMatcher(user);
+
+        List<ParsedRow> parsed = new ArrayList<>();
+        List<ImportRowError> errors = new ArrayList<>();
+
+        try (CSVParser parser = openParser(Files.newInputStream(file))) {
             int lineNumber = 1;
             for (CSVRecord record : parser) {
                 lineNumber++;
-                try {
-                    Transaction transaction = parseRecord(record, user, categories, accounts);
-
-                    if (isDuplicate(transaction, user)) {
-                        duplicates++;
-                        logger.debug("GRAIN-API: Duplicate skipped at line {}", lineNumber);
-                        continue;
-                    }
-
-                    toSave.add(transaction);
-                } catch (Exception e) {
-                    errors.add(new ImportRowError(lineNumber, e.getMessage()));
-                    logger.warn("GRAIN-API: Import error at line {}: {}", lineNumber, e.getMessage());
+                parseInto(record, lineNumber, user, categories, accounts, parsed, errors);
+                if (parsed.size() + errors.size() == chunkSize) {
+                    commitChunk(parsed, errors, user, onChunk);
+                    parsed = new ArrayList<>();
+                    errors = new ArrayList<>();
                 }
             }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if (!parsed.isEmpty() || !errors.isEmpty()) {
+            commitChunk(parsed, errors, user, onChunk);
+        }
+    }
+
+    private NameMatcher<Category> categoryMatcher(User user) {
+        return NameMatcher.compile(categoryRepository.findAllByUserIdOrderByNameAsc(user.getId()), Category::getName);
+    }
 
+    private NameMatcher<Account> accountMatcher(User user) {
+        return NameMatcher.compile(accountRepository.findAllByUserIdOrderByNameAsc(user.getId()), Account::getName);
+    }
+
+    private void commitChunk(List<ParsedRow> parsed, List<ImportRowError> errors, User user,
+                             Consumer<ImportResultResponse> onChunk) {
+        transactionTemplate.executeWithoutResult(status -> onChunk.accept(saveRows(parsed, errors, user)));
+    }
+
+    private CSVParser openParser(InputStream in) throws IOException {
+        return CSVFormat.DEFAULT.builder()
+                .setHeader("date", "description", "amount")
+                .setSkipHeaderRecord(true)
+                .setTrim(true)
+                .build()
+                .parse(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+    }
+
+    private void parseInto(CSVRecord record, int lineNumber, User user, NameMatcher<Category> categories, NameMatcher<Account> accounts,
+                           List<ParsedRow> parsed, List<ImportRowError> errors) {
+        try {
+            parsed.add(new ParsedRow(lineNumber, parseRecord(record, user, categories, accounts)));
         } catch (Exception e) {
-            logger.error("GRAIN-API: Failed to parse CSV file: {}", e.getMessage());
-            throw new IllegalArgumentException("Failed to read CSV file: " + e.getMessage());
+            errors.add(new ImportRowError(lineNumber, e.getMessage()));
+            logger.warn("GRAIN-API: Import error at line {}: {}", lineNumber, e.getMessage());
+        }
+    }
+
+    private ImportResultResponse saveRows(List<ParsedRow> parsed, List<ImportRowError> errors, User user) {
+        Set<TransactionFingerprint> seen = loadExistingFingerprints(parsed, user);
+        List<Transaction> toSave = new ArrayList<>();
+        int duplicates = 0;
+        for (ParsedRow row : parsed) {
+            if (!seen.add(fingerprint(row.transaction()))) {
+                duplicates++;
+                logger.debug("GRAIN-API: Duplicate skipped at line {}", row.lineNumber());
+                continue;
+            }
+            toSave.add(row.transaction());
         }
 
         if (!toSave.isEmpty()) {
-            transactionRepository.saveAll(toSave);
+            transactionBulkInserter.insertAll(toSave);
+            eventPublisher.publishEvent(TransactionsChangedEvent.created(toSave));
         }
 
-        logger.info("GRAIN-API: Import finished — imported={}, duplicates={}, failed={}", toSave.size(), duplicates, errors.size());
+        tenantUsageTracker.recordImportRows(user.getId(), parsed.size() + errors.size());
         return new ImportResultResponse(toSave.size(), duplicates, errors.size(), errors);
     }
 
-    private Transaction parseRecord(CSVRecord record, User user, List<Category> categories, List<Account> accounts) {
+    private Transaction parseRecord(CSVRecord record, User user, NameMatcher<Category> categories, NameMatcher<Account> accounts) {
         String dateStr = getRequired(record, "date");
         String description = getRequired(record, "description");
         String amountStr = getRequired(record, "amount");
@@ -122,31 +210,35 @@ public class ImportService {
         transaction.setDate(date);
         transaction.setDescription(description);
         transaction.setUser(user);
-        transaction.setCategory(matchCategory(description, categories));
-        transaction.setAccount(matchAccount(description, accounts));
+        transaction.setCategory(categories.match(description));
+        transaction.setAccount(accounts.match(description));
 
         return transaction;
     }
 
-    private boolean isDuplicate(Transaction t, User user) {
-        return transactionRepository.existsByUserIdAndDateAndAmountAndDescription(
-                user.getId(), t.getDate(), t.getAmount(), t.getDescription());
-    }
+    /**
+     * Fingerprints already stored for the file's date range, fetched in one query. Rows of
+     * the file are added to the same set as they are accepted, which also catches lines
+     * repeated within the file.
+     */
+    private Set<TransactionFingerprint> loadExistingFingerprints(List<ParsedRow> parsed, User user) {
+        if (parsed.isEmpty()) {
+            return new HashSet<>();
+        }
+
+        LocalDate start = parsed.getFirst().transaction().getDate();
+        LocalDate end = start;
+        for (ParsedRow row : parsed) {
+            LocalDate date = row.transaction().getDate();
+            if (date.isBefore(start)) start = date;
+            if (date.isAfter(end)) end = date;
+        }
 
-    private Category matchCategory(String description, List<Category> categories) {
-        String lower = description.toLowerCase();
-        return categories.stream()
-                .filter(c -> lower.contains(c.getName().toLowerCase()))
-                .findFirst()
-                .orElse(null);
+        return new HashSet<>(transactionRepository.findFingerprints(user.getId(), start, end));
     }
 
-    private Account matchAccount(String description, List<Account> accounts) {
-        String lower = description.toLowerCase();
-        return accounts.stream()
-                .filter(a -> lower.contains(a.getName().toLowerCase()))
-                .findFirst()
-                .orElse(null);
+    private TransactionFingerprint fingerprint(Transaction t) {
+        return new TransactionFingerprint(t.getDate(), t.getAmount(), t.getDescription());
     }
 
     private String getRequired(CSVRecord record, String column) {
@@ -162,4 +254,7 @@ public class ImportService {
             throw new IllegalArgumentException("Missing column '" + column + "'");
         }
     }
+
+    private record ParsedRow(int lineNumber, Transaction transaction) {
+    }
 }
@@ -0,0 +1,40 @@
+package dev.deyve.grainpayapi.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Component
+public class MonthlyRollupScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonthlyRollupScheduler.class);
+
+    static final String JOB_NAME = "monthly-rollups-verify";
+
+    private final MonthlyRollupService monthlyRollupService;
+    private final PartitionedJobRunner jobRunner;
+
+    public MonthlyRollupScheduler(MonthlyRollupService monthlyRollupService, PartitionedJobRunner jobRunner) {
+        this.monthlyRollupService = monthlyRollupService;
+        this.jobRunner = jobRunner;
+    }
+
+    // The drift check scans every transaction, so it runs on one node a day. The ticks
+    // after the first pick it up again if that node died before completing it.
+    @Scheduled(cron = "0 30/5 3 * * *")
+    public void verifyMonthlyRollups() {
+        jobRunner.runPending(JOB_NAME, LocalDate.now().toString(), 1, (partition, partitions) -> {
+            long drift = monthlyRollupService.countDrift();
+            if (drift == 0) {
+                logger.info("GRAIN-API: Monthly rollups verified — no drift");
+                return;
+            }
+
+            logger.warn("GRAIN-API: Monthly rollups drifted from transactions — keys={}, rebuilding", drift);
+            monthlyRollupService.rebuild();
+        });
+    }
+}
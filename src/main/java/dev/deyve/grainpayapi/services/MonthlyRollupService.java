@@ -0,0 +1,116 @@
+package dev.deyve.grainpayapi.services;
+
+import dev.deyve.grainpayapi.events.TransactionSnapshot;
+import dev.deyve.grainpayapi.events.TransactionsChangedEvent;
+import dev.deyve.grainpayapi.models.IncomeSource;
+import dev.deyve.grainpayapi.models.TransactionType;
+import dev.deyve.grainpayapi.repositories.MonthlyRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps {@code monthly_rollups} in step with {@code transactions}. Deltas are applied
+ * synchronously inside the writer's transaction, so a rolled-back write never leaves
+ * the rollup ahead of the raw rows.
+ */
+@Service
+public class MonthlyRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MonthlyRollupService.class);
+
+    // Upserts lock their rows; a fixed order keeps concurrent writers from deadlocking.
+    private static final Comparator<RollupKey> KEY_ORDER = Comparator
+            .comparing(RollupKey::userId)
+            .thenComparing(RollupKey::year)
+            .thenComparing(RollupKey::month)
+            .thenComparing(RollupKey::type)
+            .thenComparing(RollupKey::categoryId, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(RollupKey::source, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final MonthlyRollupRepository monthlyRollupRepository;
+    private final UserDataVersionService dataVersionService;
+
+    public MonthlyRollupService(MonthlyRollupRepository monthlyRollupRepository,
+                                UserDataVersionService dataVersionService) {
+        this.monthlyRollupRepository = monthlyRollupRepository;
+        this.dataVersionService = dataVersionService;
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        Map<RollupKey, RollupDelta> deltas = new HashMap<>();
+        event.removed().forEach(s -> deltas.merge(RollupKey.of(s), new RollupDelta(s.amount().negate(), -1), RollupDelta::plus));
+        event.added().forEach(s -> deltas.merge(RollupKey.of(s), new RollupDelta(s.amount(), 1), RollupDelta::plus));
+
+        deltas.entrySet().stream()
+                .filter(e -> !e.getValue().isZero())
+                .sorted(Map.Entry.comparingByKey(KEY_ORDER))
+                .forEach(e -> {
+                    RollupKey key = e.getKey();
+                    monthlyRollupRepository.addDelta(key.userId(), key.year(), key.month(), key.type().name(),
+                            key.categoryId(), key.source() != null ? key.source().name() : null,
+                            e.getValue().total(), e.getValue().count());
+                });
+    }
+
+    /**
+     * Compares the rollups against a fresh aggregation of the raw rows.
+     *
+     * @return number of rollup keys whose total or count disagree
+     */
+    @Transactional(readOnly = true)
+    public long countDrift() {
+        return monthlyRollupRepository.countDrift();
+    }
+
+    /**
+     * Recomputes every rollup from {@code transactions}. Writers block on the table lock
+     * until this commits; readers keep seeing the previous rows. The data version of each
+     * user whose rollups were wrong is bumped in the same transaction, so their ETags and
+     * cached dashboards, on every node, move to the corrected totals.
+     */
+    @Transactional
+    public int rebuild() {
+        monthlyRollupRepository.lockForRebuild();
+        List<Long> driftedUserIds = monthlyRollupRepository.findDriftedUserIds();
+        monthlyRollupRepository.deleteAllRows();
+        int rows = monthlyRollupRepository.insertFromTransactions();
+        if (!driftedUserIds.isEmpty()) {
+            dataVersionService.bump(driftedUserIds);
+        }
+        logger.info("GRAIN-API: Monthly rollups rebuilt — rows={} users corrected={}", rows, driftedUserIds.size());
+        return rows;
+    }
+
+    private record RollupKey(Long userId, Integer year, Integer month, TransactionType type,
+                             Long categoryId, IncomeSource source) {
+
+        static RollupKey of(TransactionSnapshot s) {
+            return new RollupKey(s.userId(), s.date().getYear(), s.date().getMonthValue(), s.type(),
+                    s.categoryId(), s.source());
+        }
+    }
+
+    private record RollupDelta(BigDecimal total, long count) {
+
+        RollupDelta plus(RollupDelta other) {
+            return new RollupDelta(total.add(other.total), count + other.count);
+        }
+
+        boolean isZero() {
+            return count == 0 && total.signum() == 0;
+        }
+    }
+}
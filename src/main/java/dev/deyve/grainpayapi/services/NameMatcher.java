@@ -0,0 +1,185 @@
+package dev.deyve.grainpayapi.services;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Finds which of a fixed set of names (categories, accounts) occurs in a text, ignoring
+ * case, in a single pass over the text. Built once per import as an Aho–Corasick automaton
+ * over the lowercased names.
+ *
+ * <p>When several names occur, the longest one wins, so "Cartão Nubank" beats "Nubank";
+ * between names of the same length the one that comes first in the candidate list wins.
+ * Blank names never match.
+ */
+public final class NameMatcher<T> {
+
+    private static final int ROOT = 0;
+    private static final int NONE = -1;
+
+    private final List<T> candidates;
+    private final int[] nameLength;
+
+    // Per state: sorted transition chars and their target states, the failure link, and
+    // the best name ending here or at any state reachable through failure links.
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] failure;
+    private final int[] output;
+
+    private NameMatcher(List<T> candidates, int[] nameLength, char[][] edgeChars, int[][] edgeTargets,
+                        int[] failure, int[] output) {
+        this.candidates = candidates;
+        this.nameLength = nameLength;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.failure = failure;
+        this.output = output;
+    }
+
+    public static <T> NameMatcher<T> compile(List<T> candidates, Function<T, String> name) {
+        List<T> ordered = List.copyOf(candidates);
+        int[] nameLength = new int[ordered.size()];
+        Trie trie = new Trie();
+
+        for (int i = 0; i < ordered.size(); i++) {
+            String value = name.apply(ordered.get(i));
+            if (value == null || value.isBlank()) continue;
+
+            int state = ROOT;
+            for (int c = 0; c < value.length(); c++) {
+                state = trie.child(state, Character.toLowerCase(value.charAt(c)));
+            }
+            nameLength[i] = value.length();
+            if (trie.output.get(state) == NONE) {
+                trie.output.set(state, i);
+            }
+        }
+
+        return trie.link(ordered, nameLength);
+    }
+
+    /**
+     * The winning candidate occurring in {@code text}, or {@code null} when none does.
+     */
+    public T match(String text) {
+        int state = ROOT;
+        int best = NONE;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = Character.toLowerCase(text.charAt(i));
+            int next = next(state, c);
+            while (next == NONE && state != ROOT) {
+                state = failure[state];
+                next = next(state, c);
+            }
+            state = next == NONE ? ROOT : next;
+
+            int found = output[state];
+            if (found != NONE && beats(found, best)) {
+                best = found;
+            }
+        }
+
+        return best == NONE ? null : candidates.get(best);
+    }
+
+    private int next(int state, char c) {
+        int i = Arrays.binarySearch(edgeChars[state], c);
+        return i < 0 ? NONE : edgeTargets[state][i];
+    }
+
+    private boolean beats(int candidate, int current) {
+        if (current == NONE) return true;
+        if (nameLength[candidate] != nameLength[current]) return nameLength[candidate] > nameLength[current];
+        return candidate < current;
+    }
+
+    /**
+     * Mutable trie used while compiling; {@link #link} freezes it into arrays.
+     */
+    private static final class Trie {
+
+        private final List<StringBuilder> chars = new ArrayList<>();
+        private final List<List<Integer>> targets = new ArrayList<>();
+        private final List<Integer> output = new ArrayList<>();
+
+        private Trie() {
+            addState();
+        }
+
+        private int addState() {
+            chars.add(new StringBuilder());
+            targets.add(new ArrayList<>());
+            output.add(NONE);
+            return output.size() - 1;
+        }
+
+        private int child(int state, char c) {
+            int i = chars.get(state).indexOf(String.valueOf(c));
+            if (i >= 0) return targets.get(state).get(i);
+
+            int created = addState();
+            chars.get(state).append(c);
+            targets.get(state).add(created);
+            return created;
+        }
+
+        private <T> NameMatcher<T> link(List<T> candidates, int[] nameLength) {
+            int states = output.size();
+            char[][] edgeChars = new char[states][];
+            int[][] edgeTargets = new int[states][];
+            for (int s = 0; s < states; s++) {
+                char[] cs = chars.get(s).toString().toCharArray();
+                List<Integer> ts = targets.get(s);
+                Integer[] order = new Integer[cs.length];
+                for (int i = 0; i < order.length; i++) order[i] = i;
+                Arrays.sort(order, (a, b) -> Character.compare(cs[a], cs[b]));
+
+                edgeChars[s] = new char[cs.length];
+                edgeTargets[s] = new int[cs.length];
+                for (int i = 0; i < order.length; i++) {
+                    edgeChars[s][i] = cs[order[i]];
+                    edgeTargets[s][i] = ts.get(order[i]);
+                }
+            }
+
+            int[] failure = new int[states];
+            int[] out = output.stream().mapToInt(Integer::intValue).toArray();
+            NameMatcher<T> matcher = new NameMatcher<>(candidates, nameLength, edgeChars, edgeTargets, failure, out);
+
+            // Breadth-first, so a state's failure target is final before its children need it.
+            Deque<Integer> queue = new ArrayDeque<>();
+            for (int target : edgeTargets[ROOT]) {
+                failure[target] = ROOT;
+                queue.add(target);
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                for (int i = 0; i < edgeChars[state].length; i++) {
+                    char c = edgeChars[state][i];
+                    int child = edgeTargets[state][i];
+
+                    int f = failure[state];
+                    int next = matcher.next(f, c);
+                    while (next == NONE && f != ROOT) {
+                        f = failure[f];
+                        next = matcher.next(f, c);
+                    }
+                    failure[child] = next == NONE ? ROOT : next;
+
+                    int inherited = out[failure[child]];
+                    if (inherited != NONE && (out[child] == NONE || matcher.beats(inherited, out[child]))) {
+                        out[child] = inherited;
+                    }
+                    queue.add(child);
+                }
+            }
+            return matcher;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package dev.deyve.grainpayapi.services;
+
+import dev.deyve.grainpayapi.repositories.JobPartitionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Splits a scheduled job across replicas. The job's rows are divided into
+ * {@code jobs.partitions} partitions by {@code user_id mod partitions}; on every tick each
+ * node claims partitions one at a time from {@code job_partitions} under a lease of
+ * {@code jobs.lease}, until none is left for the current run. More nodes means each
+ * processes fewer partitions, and a partition held by a node that died is claimed by
+ * another once its lease expires.
+ */
+@Component
+public class PartitionedJobRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionedJobRunner.class);
+
+    private final JobPartitionRepository jobPartitionRepository;
+    private final String nodeId;
+    private final int partitions;
+    private final Duration lease;
+    private final Set<String> initializedJobs = ConcurrentHashMap.newKeySet();
+
+    public PartitionedJobRunner(JobPartitionRepository jobPartitionRepository,
+                                @Value("${jobs.node-id:}") String nodeId,
+                                @Value("${jobs.partitions:16}") int partitions,
+                                @Value("${jobs.lease:10m}") Duration lease) {
+        this.jobPartitionRepository = jobPartitionRepository;
+        this.nodeId = nodeId(nodeId);
+        this.partitions = partitions;
+        this.lease = lease;
+    }
+
+    /**
+     * {@code jobs.node-id} or, when unset, pid@hostname: unique per process even with
+     * several nodes on one host.
+     */
+    static String nodeId(String configured) {
+        return configured.isBlank() ? ManagementFactory.getRuntimeMXBean().getName() : configured;
+    }
+
+    @FunctionalInterface
+    public interface PartitionTask {
+
+        void run(int partition, int partitions);
+    }
+
+    /**
+     * Runs {@code task} for every partition of {@code jobName} that has not completed
+     * {@code runKey} and is free, one after the other. A partition whose task throws keeps
+     * its lease, so it is retried, here or elsewhere, once the lease expires.
+     *
+     * @return number of partitions this node completed
+     */
+    public int runPending(String jobName, String runKey, PartitionTask task) {
+        return runPending(jobName, runKey, partitions, task);
+    }
+
+    /**
+     * Like {@link #runPending(String, String, PartitionTask)} with the job split into
+     * {@code partitions} instead of {@code jobs.partitions}. With {@code 1}, the job runs on
+     * one node per {@code runKey}: a lease for work that cannot be split by user.
+     */
+    public int runPending(String jobName, String runKey, int partitions, PartitionTask task) {
+        if (initializedJobs.add(jobName)) {
+            jobPartitionRepository.ensurePartitions(jobName, partitions);
+        }
+
+        int completed = 0;
+        Integer partition;
+        while ((partition = jobPartitionRepository.claim(jobName, runKey, nodeId, lease)) != null) {
+            try {
+                task.run(partition, partitions);
+            } catch (RuntimeException e) {
+                logger.error("GRAIN-API: Job {} partition {} failed, retrying after lease expiry: {}",
+                        jobName, partition, e.getMessage(), e);
+                continue;
+            }
+
+            if (jobPartitionRepository.complete(jobName, partition, runKey, nodeId)) {
+                completed++;
+            } else {
+                logger.warn("GRAIN-API: Job {} partition {} outlived its lease of {}; another node may have run it too",
+                        jobName, partition, lease);
+            }
+        }
+        return completed;
+    }
+}
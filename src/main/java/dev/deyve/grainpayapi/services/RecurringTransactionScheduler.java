@@ -12,17 +12,26 @@ public class RecurringTransactionScheduler {
 
     private static final Logger logger = LoggerFactory.getLogger(RecurringTransactionScheduler.class);
 
+    static final String JOB_NAME = "recurring-transactions";
+
     private final RecurringTransactionService recurringTransactionService;
+    private final PartitionedJobRunner jobRunner;
 
-    public RecurringTransactionScheduler(RecurringTransactionService recurringTransactionService) {
+    public RecurringTransactionScheduler(RecurringTransactionService recurringTransactionService,
+                                         PartitionedJobRunner jobRunner) {
         this.recurringTransactionService = recurringTransactionService;
+        this.jobRunner = jobRunner;
     }
 
-    @Scheduled(cron = "0 5 0 * * *")
+    // Each partition is materialized once a day by whichever node claims it first; the
+    // ticks after that catch up partitions left behind by a node that died or was down.
+    @Scheduled(cron = "0 */5 * * * *")
     public void materializeRecurringTransactions() {
         LocalDate today = LocalDate.now();
-        logger.info("GRAIN-API: Materializing recurring transactions for {}", today);
-        recurringTransactionService.materializeForToday(today);
-        logger.info("GRAIN-API: Done materializing recurring transactions for {}", today);
+        jobRunner.runPending(JOB_NAME, today.toString(), (partition, partitions) -> {
+            int created = recurringTransactionService.materializeDue(today, partition, partitions);
+            logger.info("GRAIN-API: Materialized recurring transactions through {} partition {}/{} — created={}",
+                    today, partition, partitions, created);
+        });
     }
 }
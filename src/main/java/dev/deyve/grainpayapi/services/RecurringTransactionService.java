@@ -2,6 +2,7 @@ package dev.deyve.grainpayapi.services;
 
 import dev.deyve.grainpayapi.dtos.CreateRecurringTransactionRequest;
 import dev.deyve.grainpayapi.dtos.RecurringTransactionResponse;
+import dev.deyve.grainpayapi.events.TransactionsChangedEvent;
 import dev.deyve.grainpayapi.exceptions.AccountNotFoundException;
 import dev.deyve.grainpayapi.exceptions.CategoryNotFoundException;
 import dev.deyve.grainpayapi.exceptions.RecurringTransactionNotFoundException;
@@ -10,46 +11,67 @@ import dev.deyve.grainpayapi.models.*;
 import dev.deyve.grainpayapi.repositories.AccountRepository;
 import dev.deyve.grainpayapi.repositories.CategoryRepository;
 import dev.deyve.grainpayapi.repositories.RecurringTransactionRepository;
+import dev.deyve.grainpayapi.repositories.TransactionBulkInserter;
 import dev.deyve.grainpayapi.repositories.TransactionRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class RecurringTransactionService {
 
     private static final Logger logger = LoggerFactory.getLogger(RecurringTransactionService.class);
 
+    static final int CHUNK_SIZE = 500;
+
     private final RecurringTransactionRepository recurringTransactionRepository;
     private final TransactionRepository transactionRepository;
+    private final TransactionBulkInserter transactionBulkInserter;
     private final CategoryRepository categoryRepository;
     private final AccountRepository accountRepository;
     private final RecurringTransactionMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     public RecurringTransactionService(
             RecurringTransactionRepository recurringTransactionRepository,
             TransactionRepository transactionRepository,
+            TransactionBulkInserter transactionBulkInserter,
             CategoryRepository categoryRepository,
             AccountRepository accountRepository,
-            RecurringTransactionMapper mapper) {
+            RecurringTransactionMapper mapper,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager) {
         this.recurringTransactionRepository = recurringTransactionRepository;
         this.transactionRepository = transactionRepository;
+        this.transactionBulkInserter = transactionBulkInserter;
         this.categoryRepository = categoryRepository;
         this.accountRepository = accountRepository;
         this.mapper = mapper;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
+    @Transactional(readOnly = true)
     public Page<RecurringTransactionResponse> findAll(User user, Pageable pageable) {
         return recurringTransactionRepository.findAllByUserId(user.getId(), pageable)
                 .map(mapper::toResponse);
     }
 
+    @Transactional(readOnly = true)
     public RecurringTransactionResponse findById(Long id, User user) {
         RecurringTransaction rt = recurringTransactionRepository.findById(id)
                 .filter(r -> r.getUser().getId().equals(user.getId()))
@@ -61,6 +83,11 @@ public class RecurringTransactionService {
         RecurringTransaction rt = mapper.toEntity(request);
         rt.setUser(user);
         rt.setIsActive(true);
+        // Like before, a rule starting in the past is not backfilled: it picks up from today.
+        LocalDate today = LocalDate.now();
+        if (rt.getStartDate().isBefore(today)) {
+            rt.setLastMaterializedDate(today.minusDays(1));
+        }
         resolveAssociations(rt, request, user);
 
         RecurringTransaction saved = recurringTransactionRepository.save(rt);
@@ -97,39 +124,92 @@ public class RecurringTransactionService {
         recurringTransactionRepository.deleteById(id);
     }
 
-    @Transactional
-    public void materializeForToday(LocalDate today) {
-        List<RecurringTransaction> active = recurringTransactionRepository.findAllActiveForDate(today);
-
-        for (RecurringTransaction rt : active) {
-            if (!shouldMaterializeToday(rt, today)) continue;
-
-            Transaction tx = new Transaction();
-            tx.setType(rt.getType());
-            tx.setAmount(rt.getAmount());
-            tx.setDate(today);
-            tx.setDescription(rt.getDescription());
-            tx.setPaymentType(rt.getPaymentType());
-            tx.setCategory(rt.getCategory());
-            tx.setAccount(rt.getAccount());
-            tx.setUser(rt.getUser());
-            tx.setIsRecurring(true);
-
-            transactionRepository.save(tx);
-            logger.debug("GRAIN-API: Materialized recurring transaction {} for date {}", rt.getId(), today);
+    /**
+     * Materializes every occurrence due through {@code today} that has not been created
+     * yet for the rules in {@code partition} (of {@code partitions}, by user), including
+     * days missed while the scheduler was not running. Rules are claimed in
+     * id-ordered chunks of {@link #CHUNK_SIZE}, each chunk committing its transactions
+     * together with the rules' {@code last_materialized_date}, so a rerun or a second node
+     * neither repeats nor loses an occurrence.
+     *
+     * @return number of transactions created
+     */
+    public int materializeDue(LocalDate today, int partition, int partitions) {
+        long afterId = 0;
+        int created = 0;
+        while (true) {
+            long cursor = afterId;
+            ChunkResult chunk = transactionTemplate.execute(status -> materializeChunk(cursor, today, partition, partitions));
+            if (chunk == null || chunk.lastRuleId() == null) return created;
+
+            created += chunk.created();
+            afterId = chunk.lastRuleId();
         }
     }
 
-    private boolean shouldMaterializeToday(RecurringTransaction rt, LocalDate today) {
+    private ChunkResult materializeChunk(long afterId, LocalDate today, int partition, int partitions) {
+        List<RecurringTransaction> rules = recurringTransactionRepository
+                .lockDueChunk(afterId, today, partition, partitions, CHUNK_SIZE);
+        if (rules.isEmpty()) return new ChunkResult(null, 0);
+
+        List<Long> ruleIds = rules.stream().map(RecurringTransaction::getId).toList();
+        LocalDate from = rules.stream().map(this::firstDueDate).min(Comparator.naturalOrder()).orElseThrow();
+        Set<Occurrence> existing = transactionRepository.findRecurringOccurrences(ruleIds, from).stream()
+                .map(row -> new Occurrence((Long) row[0], (LocalDate) row[1]))
+                .collect(Collectors.toSet());
+
+        List<Transaction> materialized = new ArrayList<>();
+        for (RecurringTransaction rt : rules) {
+            LocalDate last = rt.getEndDate() != null && rt.getEndDate().isBefore(today) ? rt.getEndDate() : today;
+            for (LocalDate date = firstDueDate(rt); !date.isAfter(last); date = date.plusDays(1)) {
+                if (occursOn(rt, date) && !existing.contains(new Occurrence(rt.getId(), date))) {
+                    materialized.add(toTransaction(rt, date));
+                }
+            }
+        }
+
+        transactionBulkInserter.insertAll(materialized);
+        recurringTransactionRepository.advanceWatermark(ruleIds, today);
+        if (!materialized.isEmpty()) {
+            eventPublisher.publishEvent(TransactionsChangedEvent.created(materialized));
+        }
+
+        logger.debug("GRAIN-API: Materialized {} recurring transactions for {} rules through {}",
+                materialized.size(), rules.size(), today);
+        return new ChunkResult(rules.getLast().getId(), materialized.size());
+    }
+
+    private LocalDate firstDueDate(RecurringTransaction rt) {
+        LocalDate watermark = rt.getLastMaterializedDate();
+        return watermark != null && !watermark.isBefore(rt.getStartDate()) ? watermark.plusDays(1) : rt.getStartDate();
+    }
+
+    // User, category and account are set as the rule's lazy references; only their ids are read.
+    private Transaction toTransaction(RecurringTransaction rt, LocalDate date) {
+        Transaction tx = new Transaction();
+        tx.setType(rt.getType());
+        tx.setAmount(rt.getAmount());
+        tx.setDate(date);
+        tx.setDescription(rt.getDescription());
+        tx.setPaymentType(rt.getPaymentType());
+        tx.setCategory(rt.getCategory());
+        tx.setAccount(rt.getAccount());
+        tx.setUser(rt.getUser());
+        tx.setIsRecurring(true);
+        tx.setRecurringTransactionId(rt.getId());
+        return tx;
+    }
+
+    private boolean occursOn(RecurringTransaction rt, LocalDate date) {
         return switch (rt.getRecurrenceType()) {
             case DAILY -> true;
-            case WEEKLY -> rt.getStartDate().getDayOfWeek() == today.getDayOfWeek();
+            case WEEKLY -> rt.getStartDate().getDayOfWeek() == date.getDayOfWeek();
             case MONTHLY -> {
                 int targetDay = rt.getDayOfMonth() != null ? rt.getDayOfMonth() : rt.getStartDate().getDayOfMonth();
-                yield today.getDayOfMonth() == targetDay;
+                yield date.getDayOfMonth() == targetDay;
             }
-            case YEARLY -> rt.getStartDate().getMonth() == today.getMonth()
-                    && rt.getStartDate().getDayOfMonth() == today.getDayOfMonth();
+            case YEARLY -> rt.getStartDate().getMonth() == date.getMonth()
+                    && rt.getStartDate().getDayOfMonth() == date.getDayOfMonth();
         };
     }
 
@@ -151,4 +231,10 @@ public class RecurringTransactionService {
             rt.setAccount(null);
         }
     }
+
+    private record Occurrence(Long ruleId, LocalDate date) {
+    }
+
+    private record ChunkResult(Long lastRuleId, int created) {
+    }
 }
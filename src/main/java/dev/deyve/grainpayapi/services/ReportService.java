@@ -5,11 +5,11 @@ import dev.deyve.grainpayapi.dtos.MonthlyReportItem;
 import dev.deyve.grainpayapi.dtos.YearlyReportItem;
 import dev.deyve.grainpayapi.models.TransactionType;
 import dev.deyve.grainpayapi.models.User;
-import dev.deyve.grainpayapi.repositories.TransactionRepository;
+import dev.deyve.grainpayapi.repositories.MonthlyRollupRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -19,14 +19,15 @@ import java.util.Map;
 @Service
 public class ReportService {
 
-    private final TransactionRepository transactionRepository;
+    private final MonthlyRollupRepository monthlyRollupRepository;
 
-    public ReportService(TransactionRepository transactionRepository) {
-        this.transactionRepository = transactionRepository;
+    public ReportService(MonthlyRollupRepository monthlyRollupRepository) {
+        this.monthlyRollupRepository = monthlyRollupRepository;
     }
 
+    @Transactional(readOnly = true)
     public List<MonthlyReportItem> getMonthlyReport(Integer year, User user) {
-        List<Object[]> rows = transactionRepository.sumByMonthAndTypeForYear(user.getId(), year);
+        List<Object[]> rows = monthlyRollupRepository.sumByMonthAndType(user.getId(), year);
 
         Map<Integer, BigDecimal[]> byMonth = new HashMap<>();
         for (Object[] row : rows) {
@@ -50,8 +51,9 @@ public class ReportService {
         return result;
     }
 
+    @Transactional(readOnly = true)
     public List<YearlyReportItem> getYearlyReport(User user) {
-        List<Object[]> rows = transactionRepository.sumByYearAndType(user.getId());
+        List<Object[]> rows = monthlyRollupRepository.sumByYearAndType(user.getId());
 
         Map<Integer, BigDecimal[]> byYear = new HashMap<>();
         for (Object[] row : rows) {
@@ -74,11 +76,10 @@ public class ReportService {
                 .toList();
     }
 
+    @Transactional(readOnly = true)
     public List<CategoryReportItem> getCategoryReport(YearMonth month, User user) {
-        LocalDate start = month.atDay(1);
-        LocalDate end = month.atEndOfMonth();
-
-        List<Object[]> rows = transactionRepository.sumByCategoryAndTypeAndDateBetween(user.getId(), start, end);
+        List<Object[]> rows = monthlyRollupRepository.sumByCategoryAndType(
+                user.getId(), month.getYear(), month.getMonthValue());
 
         Map<String, BigDecimal[]> byCategory = new HashMap<>();
         for (Object[] row : rows) {
@@ -0,0 +1,193 @@
+package dev.deyve.grainpayapi.services;
+
+import dev.deyve.grainpayapi.dtos.TenantUsageResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * What each user cost over the last {@code tenant-usage.window}: requests, time executing
+ * SQL, statements, rows fetched, imported rows and exported bytes. The window is a ring of
+ * {@value #BUCKETS} buckets; a bucket past its slot is replaced by the first write to land
+ * on it, so a quiet user disappears once the window moves past them. Writes only add to
+ * {@link LongAdder}s, which stay cheap when many requests of the same user run at once.
+ * Local to this instance, like {@code DashboardCache}.
+ */
+@Component
+public class TenantUsageTracker {
+
+    static final int BUCKETS = 60;
+
+    public enum Metric {
+        REQUESTS(TenantUsageResponse::requests),
+        DB_TIME(TenantUsageResponse::dbTimeMillis),
+        STATEMENTS(TenantUsageResponse::statements),
+        ROWS(TenantUsageResponse::rows),
+        IMPORT_ROWS(TenantUsageResponse::importRows),
+        EXPORT_BYTES(TenantUsageResponse::exportBytes);
+
+        private final ToLongFunction<TenantUsageResponse> value;
+
+        Metric(ToLongFunction<TenantUsageResponse> value) {
+            this.value = value;
+        }
+    }
+
+    private final Duration window;
+    private final long bucketMillis;
+    private final Clock clock;
+    private final AtomicReferenceArray<Bucket> buckets = new AtomicReferenceArray<>(BUCKETS);
+
+    @Autowired
+    public TenantUsageTracker(@Value("${tenant-usage.window:1h}") Duration window) {
+        this(window, Clock.systemUTC());
+    }
+
+    TenantUsageTracker(Duration window, Clock clock) {
+        this.window = window;
+        this.bucketMillis = Math.max(1, window.toMillis() / BUCKETS);
+        this.clock = clock;
+    }
+
+    public Duration window() {
+        return window;
+    }
+
+    public void recordRequest(Long userId, int statements, long rows, long dbNanos) {
+        add(userId, counters -> {
+            counters.requests.increment();
+            counters.statements.add(statements);
+            counters.rows.add(rows);
+            counters.dbNanos.add(dbNanos);
+        });
+    }
+
+    /**
+     * SQL run on the user's behalf outside a request (import workers, streamed exports):
+     * counted like a request's, without adding a request.
+     */
+    public void recordBackgroundWork(Long userId, int statements, long rows, long dbNanos) {
+        add(userId, counters -> {
+            counters.statements.add(statements);
+            counters.rows.add(rows);
+            counters.dbNanos.add(dbNanos);
+        });
+    }
+
+    public void recordImportRows(Long userId, int rows) {
+        add(userId, counters -> counters.importRows.add(rows));
+    }
+
+    /**
+     * Wraps {@code out} so that every byte written through it counts as exported by the user,
+     * in the bucket of the moment it is written.
+     */
+    public OutputStream countingExportBytes(Long userId, OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                add(userId, counters -> counters.exportBytes.increment());
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+                add(userId, counters -> counters.exportBytes.add(len));
+            }
+        };
+    }
+
+    /**
+     * The {@code limit} users with the highest {@code metric} within the window.
+     */
+    public List<TenantUsageResponse> top(int limit, Metric metric) {
+        long oldestSlot = currentSlot() - BUCKETS + 1;
+        Map<Long, long[]> totals = new HashMap<>();
+        for (int i = 0; i < BUCKETS; i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket == null || bucket.slot() < oldestSlot) continue;
+
+            bucket.byUser().forEach((userId, counters) -> {
+                long[] total = totals.computeIfAbsent(userId, id -> new long[6]);
+                total[0] += counters.requests.sum();
+                total[1] += counters.dbNanos.sum();
+                total[2] += counters.statements.sum();
+                total[3] += counters.rows.sum();
+                total[4] += counters.importRows.sum();
+                total[5] += counters.exportBytes.sum();
+            });
+        }
+
+        return totals.entrySet().stream()
+                .map(entry -> {
+                    long[] total = entry.getValue();
+                    return new TenantUsageResponse(entry.getKey(), total[0], Duration.ofNanos(total[1]).toMillis(),
+                            total[2], total[3], total[4], total[5]);
+                })
+                .sorted(Comparator.comparingLong(metric.value).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Applies {@code increment} to the user's counters in the current bucket. A writer that
+     * stalled may find its bucket replaced by a later slot once it has added to it; the
+     * old bucket is no longer read, so the increment is applied again to the current one.
+     */
+    private void add(Long userId, Consumer<Counters> increment) {
+        while (true) {
+            long slot = currentSlot();
+            int index = (int) (slot % BUCKETS);
+            Bucket bucket = bucket(index, slot);
+
+            Counters counters = bucket.byUser().get(userId);
+            increment.accept(counters != null ? counters : bucket.byUser().computeIfAbsent(userId, id -> new Counters()));
+            if (buckets.get(index) == bucket) return;
+        }
+    }
+
+    private Bucket bucket(int index, long slot) {
+        Bucket bucket = buckets.get(index);
+        while (bucket == null || bucket.slot() < slot) {
+            Bucket fresh = new Bucket(slot, new ConcurrentHashMap<>());
+            if (buckets.compareAndSet(index, bucket, fresh)) {
+                bucket = fresh;
+            } else {
+                bucket = buckets.get(index);
+            }
+        }
+        return bucket;
+    }
+
+    private long currentSlot() {
+        return clock.millis() / bucketMillis;
+    }
+
+    private record Bucket(long slot, ConcurrentHashMap<Long, Counters> byUser) {
+    }
+
+    private static final class Counters {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder dbNanos = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder importRows = new LongAdder();
+        private final LongAdder exportBytes = new LongAdder();
+    }
+}
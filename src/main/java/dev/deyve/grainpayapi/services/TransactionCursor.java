@@ -0,0 +1,34 @@
+package dev.deyve.grainpayapi.services;
+
+import dev.deyve.grainpayapi.exceptions.BadRequestException;
+import dev.deyve.grainpayapi.models.Transaction;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset page. Serialized as an opaque URL-safe token
+ * so clients don't build cursors by hand.
+ */
+public record TransactionCursor(LocalDate date, Long id) {
+
+    public static TransactionCursor of(Transaction t) {
+        return new TransactionCursor(t.getDate(), t.getId());
+    }
+
+    public static TransactionCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new TransactionCursor(LocalDate.parse(raw.substring(0, separator)), Long.valueOf(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor: " + token, e);
+        }
+    }
+
+    public String encode() {
+        String raw = date + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,83 @@
+package dev.deyve.grainpayapi.services;
+
+import com.lowagie.text.*;
+import com.lowagie.text.pdf.PdfPCell;
+import com.lowagie.text.pdf.PdfPTable;
+import com.lowagie.text.pdf.PdfWriter;
+import dev.deyve.grainpayapi.dtos.TransactionExportRow;
+import org.springframework.stereotype.Component;
+
+import java.awt.Color;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * Renders the transactions statement as an A4 landscape PDF. The table is marked
+ * incomplete and handed to the document every {@link #CHUNK_ROWS} rows, so OpenPDF
+ * lays out and flushes those pages and drops the rows; only one chunk is ever held.
+ */
+@Component
+public class TransactionPdfWriter {
+
+    static final int CHUNK_ROWS = 500;
+
+    private static final String[] HEADERS = {"Date", "Type", "Description", "Amount", "Category", "Payment Type"};
+    private static final float[] WIDTHS = {1.5f, 2f, 3f, 2f, 2f, 2f};
+    private static final Color HEADER_BACKGROUND = new Color(220, 220, 220);
+
+    private final Font titleFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 14);
+    private final Font headerFont = FontFactory.getFont(FontFactory.HELVETICA_BOLD, 9);
+    private final Font rowFont = FontFactory.getFont(FontFactory.HELVETICA, 8);
+
+    /**
+     * Writes the document to {@code out}. The stream is flushed but left open for the caller.
+     */
+    public void write(String title, Iterator<TransactionExportRow> rows, OutputStream out) {
+        Document document = new Document(PageSize.A4.rotate());
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        writer.setCloseStream(false);
+        document.open();
+
+        document.add(new Paragraph(title, titleFont));
+        document.add(Chunk.NEWLINE);
+
+        PdfPTable table = newTable();
+        int pending = 0;
+        while (rows.hasNext()) {
+            addRow(table, rows.next());
+            if (++pending == CHUNK_ROWS) {
+                document.add(table);
+                pending = 0;
+            }
+        }
+
+        table.setComplete(true);
+        document.add(table);
+        document.close();
+    }
+
+    private PdfPTable newTable() {
+        PdfPTable table = new PdfPTable(HEADERS.length);
+        table.setWidthPercentage(100);
+        table.setWidths(WIDTHS);
+        table.setComplete(false);
+        table.setHeaderRows(1);
+
+        for (String header : HEADERS) {
+            PdfPCell cell = new PdfPCell(new Phrase(header, headerFont));
+            cell.setBackgroundColor(HEADER_BACKGROUND);
+            cell.setPadding(4);
+            table.addCell(cell);
+        }
+        return table;
+    }
+
+    private void addRow(PdfPTable table, TransactionExportRow row) {
+        table.addCell(new Phrase(row.date().toString(), rowFont));
+        table.addCell(new Phrase(row.type().name(), rowFont));
+        table.addCell(new Phrase(row.description(), rowFont));
+        table.addCell(new Phrase(row.amount().toPlainString(), rowFont));
+        table.addCell(new Phrase(row.categoryName() != null ? row.categoryName() : "-", rowFont));
+        table.addCell(new Phrase(row.paymentType() != null ? row.paymentType().name() : "-", rowFont));
+    }
+}
@@ -1,9 +1,13 @@
 package dev.deyve.grainpayapi.services;
 
 import dev.deyve.grainpayapi.dtos.CreateTransactionRequest;
+import dev.deyve.grainpayapi.dtos.TransactionCursorPage;
 import dev.deyve.grainpayapi.dtos.TransactionFilter;
 import dev.deyve.grainpayapi.dtos.TransactionResponse;
+import dev.deyve.grainpayapi.events.TransactionSnapshot;
+import dev.deyve.grainpayapi.events.TransactionsChangedEvent;
 import dev.deyve.grainpayapi.exceptions.AccountNotFoundException;
+import dev.deyve.grainpayapi.exceptions.BadRequestException;
 import dev.deyve.grainpayapi.exceptions.CategoryNotFoundException;
 import dev.deyve.grainpayapi.exceptions.TransactionNotFoundException;
 import dev.deyve.grainpayapi.mappers.TransactionMapper;
@@ -16,8 +20,10 @@ import dev.deyve.grainpayapi.repositories.CategoryRepository;
 import dev.deyve.grainpayapi.repositories.TransactionRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,27 +37,61 @@ import java.util.List;
 public class TransactionService {
 
     private static final Logger logger = LoggerFactory.getLogger(TransactionService.class);
+    private static final Sort KEYSET_ORDER = Sort.by(Sort.Direction.DESC, "date", "id");
+    static final int MAX_CURSOR_PAGE_SIZE = 100;
 
     private final TransactionRepository transactionRepository;
     private final CategoryRepository categoryRepository;
     private final AccountRepository accountRepository;
     private final TransactionMapper transactionMapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     public TransactionService(TransactionRepository transactionRepository,
                                CategoryRepository categoryRepository,
                                AccountRepository accountRepository,
-                               TransactionMapper transactionMapper) {
+                               TransactionMapper transactionMapper,
+                               ApplicationEventPublisher eventPublisher) {
         this.transactionRepository = transactionRepository;
         this.categoryRepository = categoryRepository;
         this.accountRepository = accountRepository;
         this.transactionMapper = transactionMapper;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional(readOnly = true)
     public Page<TransactionResponse> findAll(TransactionFilter filter, User user, Pageable pageable) {
         Specification<Transaction> spec = TransactionSpecification.withFilters(filter, user);
         return transactionRepository.findAll(spec, pageable).map(transactionMapper::toResponse);
     }
 
+    /**
+     * Keyset page in (date DESC, id DESC) order. Fetches one extra row to know whether a
+     * next page exists, so no count query is issued. A null or blank cursor starts
+     * from the newest transaction. {@code size} is capped at {@value #MAX_CURSOR_PAGE_SIZE}.
+     */
+    @Transactional(readOnly = true)
+    public TransactionCursorPage findAllByCursor(TransactionFilter filter, User user, String cursor, int size) {
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+
+        Specification<Transaction> spec = TransactionSpecification.withFilters(filter, user);
+        if (cursor != null && !cursor.isBlank()) {
+            spec = spec.and(TransactionSpecification.after(TransactionCursor.decode(cursor)));
+        }
+
+        List<Transaction> rows = transactionRepository.findBy(spec, q -> q
+                .sortBy(KEYSET_ORDER)
+                .limit(size + 1)
+                .project("category", "account")
+                .all());
+
+        List<Transaction> content = rows.size() > size ? rows.subList(0, size) : rows;
+        String nextCursor = rows.size() > size ? TransactionCursor.of(content.get(size - 1)).encode() : null;
+
+        return new TransactionCursorPage(content.stream().map(transactionMapper::toResponse).toList(), nextCursor);
+    }
+
     @Transactional
     public List<TransactionResponse> save(CreateTransactionRequest request, User user) {
         Category category = resolveCategory(request, user);
@@ -67,6 +107,7 @@ public class TransactionService {
         transaction.setAccount(account);
 
         Transaction saved = transactionRepository.save(transaction);
+        eventPublisher.publishEvent(TransactionsChangedEvent.created(List.of(saved)));
         logger.debug("GRAIN-API: Transaction saved: {}", saved.getId());
 
         return List.of(transactionMapper.toResponse(saved));
@@ -104,10 +145,12 @@ public class TransactionService {
         }
 
         List<Transaction> saved = transactionRepository.saveAll(installments);
+        eventPublisher.publishEvent(TransactionsChangedEvent.created(saved));
         logger.debug("GRAIN-API: {} installments saved", saved.size());
         return saved.stream().map(transactionMapper::toResponse).toList();
     }
 
+    @Transactional(readOnly = true)
     public TransactionResponse findById(Long id, User user) {
         Transaction transaction = transactionRepository.findById(id)
                 .filter(t -> t.getUser().getId().equals(user.getId()))
@@ -116,10 +159,12 @@ public class TransactionService {
         return transactionMapper.toResponse(transaction);
     }
 
+    @Transactional
     public TransactionResponse updateById(Long id, CreateTransactionRequest request, User user) {
         Transaction existing = transactionRepository.findById(id)
                 .filter(t -> t.getUser().getId().equals(user.getId()))
                 .orElseThrow(() -> new TransactionNotFoundException("Transaction not found: " + id));
+        TransactionSnapshot before = TransactionSnapshot.of(existing);
 
         existing.setType(request.type());
         existing.setAmount(request.amount());
@@ -152,17 +197,20 @@ public class TransactionService {
         }
 
         Transaction updated = transactionRepository.save(existing);
+        eventPublisher.publishEvent(TransactionsChangedEvent.updated(before, updated));
         logger.debug("GRAIN-API: Transaction updated: {}", updated.getId());
 
         return transactionMapper.toResponse(updated);
     }
 
+    @Transactional
     public void deleteById(Long id, User user) {
-        transactionRepository.findById(id)
+        Transaction existing = transactionRepository.findById(id)
                 .filter(t -> t.getUser().getId().equals(user.getId()))
                 .orElseThrow(() -> new TransactionNotFoundException("Transaction not found: " + id));
 
         logger.debug("GRAIN-API: Transaction deleted: {}", id);
-        transactionRepository.deleteById(id);
+        transactionRepository.delete(existing);
+        eventPublisher.publishEvent(TransactionsChangedEvent.deleted(TransactionSnapshot.of(existing)));
     }
 }
@@ -45,4 +45,16 @@ public class TransactionSpecification {
             return cb.and(predicates.toArray(new Predicate[0]));
         };
     }
+
+    /**
+     * Rows strictly after {@code cursor} in (date DESC, id DESC) order. The redundant
+     * {@code date <= cursor.date} bound is what lets the index seek instead of filter.
+     */
+    public static Specification<Transaction> after(TransactionCursor cursor) {
+        return (root, query, cb) -> cb.and(
+                cb.lessThanOrEqualTo(root.get("date"), cursor.date()),
+                cb.or(
+                        cb.lessThan(root.get("date"), cursor.date()),
+                        cb.lessThan(root.get("id"), cursor.id())));
+    }
 }
@@ -0,0 +1,54 @@
+package dev.deyve.grainpayapi.services;
+
+import dev.deyve.grainpayapi.events.TransactionSnapshot;
+import dev.deyve.grainpayapi.events.TransactionsChangedEvent;
+import dev.deyve.grainpayapi.repositories.UserDataVersionRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Tracks a version per user that changes whenever the user's transactions, budgets,
+ * categories or accounts do; the ETags of the read endpoints are derived from it.
+ * Transaction writes are covered through {@link TransactionsChangedEvent}, inside the
+ * writer's transaction; the other services bump after saving, in the same transaction.
+ */
+@Service
+public class UserDataVersionService {
+
+    private final UserDataVersionRepository userDataVersionRepository;
+
+    public UserDataVersionService(UserDataVersionRepository userDataVersionRepository) {
+        this.userDataVersionRepository = userDataVersionRepository;
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE + 3)
+    public void onTransactionsChanged(TransactionsChangedEvent event) {
+        Set<Long> userIds = Stream.concat(event.removed().stream(), event.added().stream())
+                .map(TransactionSnapshot::userId)
+                .collect(Collectors.toSet());
+        if (!userIds.isEmpty()) {
+            userDataVersionRepository.bump(userIds);
+        }
+    }
+
+    public void bump(Long userId) {
+        userDataVersionRepository.bump(List.of(userId));
+    }
+
+    public void bump(Collection<Long> userIds) {
+        userDataVersionRepository.bump(userIds);
+    }
+
+    public long current(Long userId) {
+        return userDataVersionRepository.find(userId);
+    }
+}
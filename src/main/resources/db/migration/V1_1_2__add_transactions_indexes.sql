@@ -0,0 +1,13 @@
+-- Every transaction query is scoped by user_id and almost always by a date range
+-- (dashboard, reports, listing filters, duplicate check on import). The INCLUDE
+-- columns let the aggregates run as index-only scans.
+CREATE INDEX idx_transactions_user_date
+    ON transactions (user_id, date) INCLUDE (type, amount, category_id, source);
+
+-- Budget "spent" and the categoryId listing filter.
+CREATE INDEX idx_transactions_user_category_date
+    ON transactions (user_id, category_id, date) INCLUDE (type, amount);
+
+-- Tags are always loaded by their owning transaction.
+CREATE INDEX idx_transaction_tags_transaction_id
+    ON transaction_tags (transaction_id);
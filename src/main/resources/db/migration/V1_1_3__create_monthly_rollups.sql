@@ -0,0 +1,29 @@
+-- Per-month totals maintained alongside every transaction write, so the dashboard
+-- and reports read O(categories) rows instead of aggregating raw transactions.
+-- category_id carries no FK: a category cannot be deleted while transactions still
+-- reference it, and readers LEFT JOIN categories for the name.
+CREATE TABLE monthly_rollups (
+    id          BIGSERIAL     PRIMARY KEY,
+    user_id     BIGINT        NOT NULL REFERENCES users (id),
+    year        INTEGER       NOT NULL,
+    month       INTEGER       NOT NULL,
+    type        VARCHAR(50)   NOT NULL,
+    category_id BIGINT,
+    source      VARCHAR(50),
+    total       NUMERIC(19,2) NOT NULL DEFAULT 0,
+    tx_count    BIGINT        NOT NULL DEFAULT 0,
+    CONSTRAINT uq_monthly_rollups_key
+        UNIQUE NULLS NOT DISTINCT (user_id, year, month, type, category_id, source)
+);
+
+INSERT INTO monthly_rollups (user_id, year, month, type, category_id, source, total, tx_count)
+SELECT user_id,
+       EXTRACT(YEAR FROM date)::INTEGER,
+       EXTRACT(MONTH FROM date)::INTEGER,
+       type,
+       category_id,
+       source,
+       SUM(amount),
+       COUNT(*)
+FROM transactions
+GROUP BY 1, 2, 3, 4, 5, 6;
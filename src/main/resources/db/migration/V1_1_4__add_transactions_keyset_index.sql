@@ -0,0 +1,7 @@
+-- Keyset listing orders by (date DESC, id DESC) and seeks past the last (date, id)
+-- seen. Adding id to the key lets the page be read straight off the index with no
+-- sort; date-range queries use the same prefix as the index it replaces.
+CREATE INDEX idx_transactions_user_date_id
+    ON transactions (user_id, date, id) INCLUDE (type, amount, category_id, source);
+
+DROP INDEX idx_transactions_user_date;
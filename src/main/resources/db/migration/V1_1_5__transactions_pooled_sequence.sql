@@ -0,0 +1,9 @@
+-- Transaction ids move from IDENTITY to a pooled sequence so Hibernate can batch
+-- inserts: each nextval reserves a block of 50 ids (value - 49 .. value), matching
+-- allocationSize on the entity and the block allocation in TransactionBulkInserter.
+-- Plain INSERTs relying on the column default still work; they use the top of a block.
+ALTER SEQUENCE transactions_id_seq INCREMENT BY 50;
+
+-- Mark the sequence as called at the current maximum so the first block starts above
+-- every existing id (a never-called sequence would hand out 1, i.e. the block -48 .. 1).
+SELECT setval('transactions_id_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM transactions), 1));
@@ -0,0 +1,32 @@
+-- Asynchronous CSV imports. Counters are updated in the same transaction that commits
+-- each chunk of rows, so a job always reports exactly what has been written.
+CREATE TABLE import_jobs (
+    id             UUID           PRIMARY KEY,
+    user_id        BIGINT         NOT NULL REFERENCES users (id),
+    filename       VARCHAR(255),
+    status         VARCHAR(50)    NOT NULL,
+    rows_processed INTEGER        NOT NULL DEFAULT 0,
+    imported       INTEGER        NOT NULL DEFAULT 0,
+    duplicates     INTEGER        NOT NULL DEFAULT 0,
+    failed         INTEGER        NOT NULL DEFAULT 0,
+    message        VARCHAR(500),
+    finished_at    TIMESTAMP(6),
+    created_at     TIMESTAMP(6)   NOT NULL,
+    updated_at     TIMESTAMP(6)   NOT NULL
+);
+
+CREATE INDEX idx_import_jobs_user_id ON import_jobs (user_id);
+
+-- Rejected lines of a job (capped per job by the application). Ids are allocated in
+-- blocks of 50 so Hibernate can batch the inserts, as for transactions.
+CREATE TABLE import_job_errors (
+    id      BIGSERIAL PRIMARY KEY,
+    job_id  UUID      NOT NULL REFERENCES import_jobs (id) ON DELETE CASCADE,
+    line    INTEGER   NOT NULL,
+    reason  TEXT      NOT NULL
+);
+
+ALTER SEQUENCE import_job_errors_id_seq INCREMENT BY 50;
+SELECT setval('import_job_errors_id_seq', 1);
+
+CREATE INDEX idx_import_job_errors_job_line ON import_job_errors (job_id, line);
@@ -0,0 +1,51 @@
+-- accounts.balance becomes ledger-derived: the balance entered by the user is kept as
+-- opening_balance, and balance = opening_balance + incomes - expenses of the account's
+-- transactions (all of them, including future-dated installments). From here on the
+-- application keeps it current with atomic deltas.
+ALTER TABLE accounts ADD COLUMN opening_balance NUMERIC(19,2) NOT NULL DEFAULT 0.00;
+
+UPDATE accounts SET opening_balance = balance;
+
+UPDATE accounts a
+SET balance = a.opening_balance + t.net
+FROM (SELECT account_id, SUM(CASE WHEN type = 'INCOME' THEN amount ELSE -amount END) AS net
+      FROM transactions
+      WHERE account_id IS NOT NULL
+      GROUP BY account_id) t
+WHERE t.account_id = a.id;
+
+-- Balance at the end of each closed month. Kept exact when older transactions change,
+-- so a balance at any date is the nearest snapshot plus at most one month of rows.
+CREATE TABLE account_balance_snapshots (
+    id          BIGSERIAL     PRIMARY KEY,
+    account_id  BIGINT        NOT NULL REFERENCES accounts (id) ON DELETE CASCADE,
+    as_of       DATE          NOT NULL,
+    balance     NUMERIC(19,2) NOT NULL,
+    CONSTRAINT uq_account_balance_snapshots_account_as_of UNIQUE (account_id, as_of)
+);
+
+-- Delta scans between a snapshot and the requested date.
+CREATE INDEX idx_transactions_account_date
+    ON transactions (account_id, date) INCLUDE (type, amount)
+    WHERE account_id IS NOT NULL;
+
+-- Backfill every closed month since each account's first transaction.
+WITH monthly AS (
+    SELECT account_id,
+           date_trunc('month', date)::DATE AS month,
+           SUM(CASE WHEN type = 'INCOME' THEN amount ELSE -amount END) AS net
+    FROM transactions
+    WHERE account_id IS NOT NULL
+    GROUP BY 1, 2
+), months AS (
+    SELECT f.account_id, g::DATE AS month
+    FROM (SELECT account_id, MIN(month) AS first_month FROM monthly GROUP BY account_id) f,
+         generate_series(f.first_month, date_trunc('month', CURRENT_DATE) - INTERVAL '1 month', INTERVAL '1 month') g
+)
+INSERT INTO account_balance_snapshots (account_id, as_of, balance)
+SELECT m.account_id,
+       (m.month + INTERVAL '1 month - 1 day')::DATE,
+       a.opening_balance + SUM(COALESCE(mo.net, 0)) OVER (PARTITION BY m.account_id ORDER BY m.month)
+FROM months m
+JOIN accounts a ON a.id = m.account_id
+LEFT JOIN monthly mo ON mo.account_id = m.account_id AND mo.month = m.month;
@@ -0,0 +1,23 @@
+-- Occurrences materialized from a recurring rule point back to it; at most one per
+-- rule and date, so a rerun or an overlapping catch-up cannot duplicate them.
+ALTER TABLE transactions
+    ADD COLUMN recurring_transaction_id BIGINT REFERENCES recurring_transactions (id) ON DELETE SET NULL;
+
+CREATE UNIQUE INDEX uq_transactions_recurring_date
+    ON transactions (recurring_transaction_id, date)
+    WHERE recurring_transaction_id IS NOT NULL;
+
+-- Last date each rule has been materialized through; the scheduler catches up from
+-- the day after it. NULL means nothing yet, starting at start_date.
+ALTER TABLE recurring_transactions ADD COLUMN last_materialized_date DATE;
+
+-- Existing rules were materialized by the once-a-day job with no record of it. Resume
+-- from the latest matching recurring transaction, or yesterday, so nothing already
+-- created is repeated and missed history is not backfilled.
+UPDATE recurring_transactions r
+SET last_materialized_date = LEAST(CURRENT_DATE, GREATEST(
+        r.start_date - 1,
+        COALESCE((SELECT MAX(t.date) FROM transactions t
+                  WHERE t.is_recurring AND t.user_id = r.user_id AND t.type = r.type
+                    AND t.amount = r.amount AND t.description = r.description),
+                 CURRENT_DATE - 1)));
@@ -0,0 +1,13 @@
+-- Leases for scheduled jobs split across replicas. Each job's work is divided into
+-- partitions by user_id mod partitions; a node claims a free partition, processes it
+-- and records the run it completed. A partition whose lease expired (its node died)
+-- can be claimed by any other node.
+CREATE TABLE job_partitions (
+    job_name      VARCHAR(100) NOT NULL,
+    partition     INTEGER      NOT NULL,
+    owner         VARCHAR(255),
+    lease_until   TIMESTAMPTZ,
+    last_run_key  VARCHAR(50),
+    completed_at  TIMESTAMPTZ,
+    PRIMARY KEY (job_name, partition)
+);
@@ -0,0 +1,25 @@
+-- Emails waiting to be sent. Producers insert a row in the same transaction as the
+-- change that triggers it; a separate sender delivers them with bounded concurrency,
+-- so SMTP latency and failures never hold up the producer. The payload holds the
+-- template data for the kind, rendered at send time.
+--
+-- A pending row is due once next_attempt_at passes. Claiming a row pushes it forward
+-- by a lease, so a sender that dies mid-send leaves it due again for another one; a
+-- failed send pushes it by a growing backoff until the attempts run out.
+CREATE TABLE email_outbox (
+    id              BIGSERIAL    PRIMARY KEY,
+    kind            VARCHAR(50)  NOT NULL,
+    recipient       VARCHAR(255) NOT NULL,
+    payload         JSONB        NOT NULL,
+    status          VARCHAR(20)  NOT NULL DEFAULT 'PENDING',
+    attempts        INTEGER      NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    last_error      VARCHAR(500),
+    created_at      TIMESTAMPTZ  NOT NULL DEFAULT now(),
+    sent_at         TIMESTAMPTZ
+);
+
+CREATE INDEX idx_email_outbox_due ON email_outbox (next_attempt_at) WHERE status = 'PENDING';
+
+-- The alert scan only looks at the month's budgets not yet notified
+CREATE INDEX idx_budgets_pending_alert ON budgets (year, month) WHERE notified = FALSE;
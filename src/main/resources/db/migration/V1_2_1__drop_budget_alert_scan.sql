@@ -0,0 +1,5 @@
+-- Budget alerts are raised when a write crosses the threshold (BudgetThresholdMonitor),
+-- so the daily scan is gone along with its index and job partitions.
+DROP INDEX idx_budgets_pending_alert;
+
+DELETE FROM job_partitions WHERE job_name = 'budget-alerts';
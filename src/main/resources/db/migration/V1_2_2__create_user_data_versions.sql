@@ -0,0 +1,7 @@
+-- A counter per user, bumped by every write to the user's transactions, budgets,
+-- categories or accounts. Read endpoints derive their ETag from it, so a conditional
+-- GET is answered with one primary-key lookup. Users without a row are at version 0.
+CREATE TABLE user_data_versions (
+    user_id BIGINT NOT NULL PRIMARY KEY REFERENCES users (id) ON DELETE CASCADE,
+    version BIGINT NOT NULL
+);
@@ -0,0 +1,7 @@
+-- Node running each import and its last sign of life. Workers are in-process, so a job is
+-- abandoned when its node restarts (same owner, created before the restart) or stops
+-- refreshing heartbeat_at (the node is gone); live nodes leave each other's jobs alone.
+ALTER TABLE import_jobs ADD COLUMN owner VARCHAR(255);
+ALTER TABLE import_jobs ADD COLUMN heartbeat_at TIMESTAMPTZ NOT NULL DEFAULT now();
+
+CREATE INDEX idx_import_jobs_unfinished ON import_jobs (owner) WHERE status IN ('PENDING', 'RUNNING');
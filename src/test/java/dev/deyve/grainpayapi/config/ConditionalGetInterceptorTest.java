@@ -0,0 +1,107 @@
+package dev.deyve.grainpayapi.config;
+
+import dev.deyve.grainpayapi.models.User;
+import dev.deyve.grainpayapi.models.UserRole;
+import dev.deyve.grainpayapi.services.UserDataVersionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConditionalGetInterceptorTest {
+
+    @Mock
+    private UserDataVersionService dataVersionService;
+
+    private ConditionalGetInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        interceptor = new ConditionalGetInterceptor(dataVersionService);
+        authenticate(7L);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void preHandle_shouldLeaveTagForResponseWhenNotConditional() {
+        when(dataVersionService.current(7L)).thenReturn(3L);
+        MockHttpServletRequest request = get("/api/budgets", "month=2024-04");
+
+        boolean proceed = interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+
+        assertThat(proceed).isTrue();
+        assertThat((String) request.getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE)).startsWith("\"3-");
+    }
+
+    @Test
+    void preHandle_shouldAnswerNotModifiedForCurrentTag() {
+        when(dataVersionService.current(7L)).thenReturn(3L);
+        String etag = tagFor(get("/api/budgets", "month=2024-04"));
+
+        MockHttpServletRequest request = get("/api/budgets", "month=2024-04");
+        request.addHeader("If-None-Match", "\"stale\", " + etag);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean proceed = interceptor.preHandle(request, response, new Object());
+
+        assertThat(proceed).isFalse();
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader("ETag")).isEqualTo(etag);
+    }
+
+    @Test
+    void preHandle_shouldChangeTagWithVersionUrlAndUser() {
+        when(dataVersionService.current(7L)).thenReturn(3L, 4L, 4L);
+        when(dataVersionService.current(8L)).thenReturn(4L);
+
+        String before = tagFor(get("/api/budgets", "month=2024-04"));
+        String afterWrite = tagFor(get("/api/budgets", "month=2024-04"));
+        String otherMonth = tagFor(get("/api/budgets", "month=2024-05"));
+        authenticate(8L);
+        String otherUser = tagFor(get("/api/budgets", "month=2024-04"));
+
+        assertThat(afterWrite).isNotEqualTo(before);
+        assertThat(otherMonth).isNotEqualTo(afterWrite);
+        assertThat(otherUser).isNotEqualTo(afterWrite);
+    }
+
+    @Test
+    void preHandle_shouldIgnoreWrites() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/budgets");
+        request.addHeader("If-None-Match", "*");
+
+        assertThat(interceptor.preHandle(request, new MockHttpServletResponse(), new Object())).isTrue();
+        verifyNoInteractions(dataVersionService);
+    }
+
+    private String tagFor(MockHttpServletRequest request) {
+        interceptor.preHandle(request, new MockHttpServletResponse(), new Object());
+        return (String) request.getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE);
+    }
+
+    private static MockHttpServletRequest get(String uri, String query) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setQueryString(query);
+        return request;
+    }
+
+    private static void authenticate(Long userId) {
+        User user = new User("Ana", "ana@grainpay.dev", "hash", UserRole.USER);
+        user.setId(userId);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
@@ -0,0 +1,93 @@
+package dev.deyve.grainpayapi.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionLimitingDataSourceTest {
+
+    @Mock
+    private DataSource pool;
+
+    @Mock
+    private Connection pooled;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        lenient().when(pool.getConnection()).thenReturn(pooled);
+    }
+
+    @Test
+    void getConnection_shouldFailAtOnceWhenTooManyAreWaiting() throws Exception {
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(pool, 1, 0, Duration.ofMinutes(1));
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+        verify(pool).getConnection();
+    }
+
+    @Test
+    void getConnection_shouldGiveUpAfterTheTimeout() throws Exception {
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(pool, 1, 10, Duration.ofMillis(50));
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection)
+                .isInstanceOf(SQLTransientConnectionException.class)
+                .hasMessageContaining("Timed out");
+    }
+
+    @Test
+    void close_shouldLetAWaitingCallerIn() throws Exception {
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(pool, 1, 10, Duration.ofSeconds(5));
+        Connection first = dataSource.getConnection();
+
+        CompletableFuture<Connection> second = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        first.close();
+
+        assertThat(second.get(5, TimeUnit.SECONDS)).isNotNull();
+        verify(pooled).close();
+    }
+
+    @Test
+    void close_shouldReturnThePermitOnlyOnce() throws Exception {
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(pool, 1, 0, Duration.ofMinutes(1));
+        Connection connection = dataSource.getConnection();
+        connection.close();
+        connection.close();
+
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+    }
+
+    @Test
+    void getConnection_shouldReturnThePermitWhenThePoolFails() throws Exception {
+        ConnectionLimitingDataSource dataSource = new ConnectionLimitingDataSource(pool, 1, 0, Duration.ofMinutes(1));
+        when(pool.getConnection()).thenThrow(new SQLException("down")).thenReturn(pooled);
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("down");
+
+        assertThat(dataSource.getConnection()).isNotNull();
+    }
+}
@@ -0,0 +1,73 @@
+package dev.deyve.grainpayapi.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class QueryCountingDataSourceTest {
+
+    @Mock
+    private DataSource pool;
+
+    @Mock
+    private Connection pooled;
+
+    @Mock
+    private PreparedStatement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private QueryCountingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(pool.getConnection()).thenReturn(pooled);
+        dataSource = new QueryCountingDataSource(pool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestQueryStats.end();
+    }
+
+    @Test
+    void getConnection_shouldCountStatementsAndRowsOfTheCurrentRequest() throws SQLException {
+        when(pooled.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+        RequestQueryStats stats = RequestQueryStats.start();
+
+        try (Connection connection = dataSource.getConnection()) {
+            PreparedStatement query = connection.prepareStatement("SELECT 1");
+            ResultSet rows = query.executeQuery();
+            while (rows.next()) {
+                rows.getLong(1);
+            }
+            connection.prepareStatement("UPDATE t SET x = 1").executeBatch();
+        }
+
+        assertThat(stats.statements()).isEqualTo(2);
+        assertThat(stats.rows()).isEqualTo(2);
+        assertThat(stats.connectionWaitNanos()).isPositive();
+        verify(pooled).close();
+    }
+
+    @Test
+    void getConnection_shouldHandOutThePooledConnectionOutsideARequest() throws SQLException {
+        assertThat(dataSource.getConnection()).isSameAs(pooled);
+    }
+}
@@ -0,0 +1,77 @@
+package dev.deyve.grainpayapi.config;
+
+import dev.deyve.grainpayapi.security.JwtAuthFilter;
+import dev.deyve.grainpayapi.services.TenantUsageTracker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryMetricsFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TenantUsageTracker tenantUsageTracker;
+    private QueryMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        tenantUsageTracker = new TenantUsageTracker(Duration.ofHours(1));
+        filter = new QueryMetricsFilter(meterRegistry, tenantUsageTracker);
+    }
+
+    @Test
+    void doFilter_shouldPublishTheRequestsQueryStatsByEndpoint() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/transactions/7");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            RequestQueryStats stats = RequestQueryStats.current();
+            stats.statementExecuted(TimeUnit.MILLISECONDS.toNanos(1));
+            stats.statementExecuted(TimeUnit.MILLISECONDS.toNanos(1));
+            stats.rowFetched();
+            stats.connectionWaited(TimeUnit.MILLISECONDS.toNanos(3));
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/transactions/{id}");
+        });
+
+        assertThat(meterRegistry.get(QueryMetricsFilter.STATEMENTS).tag("uri", "/api/transactions/{id}")
+                .tag("method", "GET").summary().totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.get(QueryMetricsFilter.ROWS).tag("uri", "/api/transactions/{id}")
+                .summary().totalAmount()).isEqualTo(1);
+        assertThat(meterRegistry.get(QueryMetricsFilter.CONNECTION_WAIT).tag("uri", "/api/transactions/{id}")
+                .timer().totalTime(TimeUnit.MILLISECONDS)).isEqualTo(3);
+        assertThat(RequestQueryStats.current()).isNull();
+    }
+
+    @Test
+    void doFilter_shouldTagUnmatchedRequestsAsUnknown() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/nope"), new MockHttpServletResponse(), (req, res) -> {
+        });
+
+        assertThat(meterRegistry.get(QueryMetricsFilter.STATEMENTS).tag("uri", "UNKNOWN").summary().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void doFilter_shouldChargeTheRequestToItsUser() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/transactions"), new MockHttpServletResponse(), (req, res) -> {
+            RequestQueryStats.current().statementExecuted(TimeUnit.MILLISECONDS.toNanos(4));
+            req.setAttribute(JwtAuthFilter.USER_ID_ATTRIBUTE, 7L);
+        });
+
+        assertThat(tenantUsageTracker.top(10, TenantUsageTracker.Metric.REQUESTS))
+                .singleElement()
+                .satisfies(usage -> {
+                    assertThat(usage.userId()).isEqualTo(7L);
+                    assertThat(usage.requests()).isEqualTo(1);
+                    assertThat(usage.statements()).isEqualTo(1);
+                    assertThat(usage.dbTimeMillis()).isEqualTo(4);
+                });
+    }
+}
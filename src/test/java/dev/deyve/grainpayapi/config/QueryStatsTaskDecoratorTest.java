@@ -0,0 +1,83 @@
+package dev.deyve.grainpayapi.config;
+
+import dev.deyve.grainpayapi.security.JwtAuthFilter;
+import dev.deyve.grainpayapi.services.TenantUsageTracker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueryStatsTaskDecoratorTest {
+
+    private TenantUsageTracker tenantUsageTracker;
+    private QueryStatsTaskDecorator decorator;
+
+    @BeforeEach
+    void setUp() {
+        tenantUsageTracker = new TenantUsageTracker(Duration.ofHours(1));
+        decorator = new QueryStatsTaskDecorator(tenantUsageTracker);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void decorate_shouldChargeTheTasksSqlToTheSubmittingUser() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/import");
+        request.setAttribute(JwtAuthFilter.USER_ID_ATTRIBUTE, 7L);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        Runnable task = decorator.decorate(() -> {
+            RequestQueryStats stats = RequestQueryStats.current();
+            stats.statementExecuted(TimeUnit.MILLISECONDS.toNanos(5));
+            stats.rowFetched();
+        });
+        RequestContextHolder.resetRequestAttributes();
+
+        Thread worker = Thread.ofPlatform().start(task);
+        worker.join();
+
+        assertThat(tenantUsageTracker.top(10, TenantUsageTracker.Metric.DB_TIME))
+                .singleElement()
+                .satisfies(usage -> {
+                    assertThat(usage.userId()).isEqualTo(7L);
+                    assertThat(usage.requests()).isZero();
+                    assertThat(usage.statements()).isEqualTo(1);
+                    assertThat(usage.rows()).isEqualTo(1);
+                    assertThat(usage.dbTimeMillis()).isEqualTo(5);
+                });
+    }
+
+    @Test
+    void decorate_shouldLeaveTasksSubmittedOutsideARequestAlone() {
+        Runnable task = () -> {
+        };
+
+        assertThat(decorator.decorate(task)).isSameAs(task);
+    }
+
+    @Test
+    void decorate_shouldNotCountTwiceATaskRunOnTheRequestThread() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/export/csv");
+        request.setAttribute(JwtAuthFilter.USER_ID_ATTRIBUTE, 7L);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        RequestQueryStats requestStats = RequestQueryStats.start();
+        try {
+            decorator.decorate(() -> RequestQueryStats.current().statementExecuted(1)).run();
+        } finally {
+            RequestQueryStats.end();
+        }
+
+        assertThat(requestStats.statements()).isEqualTo(1);
+        assertThat(tenantUsageTracker.top(10, TenantUsageTracker.Metric.STATEMENTS)).isEmpty();
+    }
+}
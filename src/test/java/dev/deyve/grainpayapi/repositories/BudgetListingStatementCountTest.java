@@ -0,0 +1,93 @@
+package dev.deyve.grainpayapi.repositories;
+
+import dev.deyve.grainpayapi.dtos.BudgetResponse;
+import dev.deyve.grainpayapi.mappers.CategoryMapperImpl;
+import dev.deyve.grainpayapi.models.User;
+import dev.deyve.grainpayapi.services.BudgetService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Listing a month's budgets must cost one statement however many budgets the user has:
+ * no per-budget spending query and no lazy category load.
+ */
+@Import({BudgetService.class, CategoryMapperImpl.class})
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BudgetListingStatementCountTest extends PostgresRepositoryTest {
+
+    private static final int BUDGETS = 40;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    private User user;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO users (name, email, password, role, created_at, updated_at)
+                VALUES ('budgets', 'budgets@grainpay.dev', 'x', 'USER', now(), now())
+                """);
+        long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'budgets@grainpay.dev'", Long.class);
+
+        jdbcTemplate.update("""
+                INSERT INTO categories (name, type, user_id, created_at, updated_at)
+                SELECT 'category ' || g, 'EXPENSE', ?, now(), now() FROM generate_series(1, ?) g
+                """, userId, BUDGETS);
+        jdbcTemplate.update("""
+                INSERT INTO budgets (limit_amount, month, year, category_id, user_id, created_at, updated_at)
+                SELECT 100, 4, 2024, id, ?, now(), now() FROM categories WHERE user_id = ?
+                """, userId, userId);
+        // Two expenses of 10 per category in April, one outside the month, one income
+        jdbcTemplate.update("""
+                INSERT INTO transactions (type, amount, date, description, user_id, category_id, created_at, updated_at)
+                SELECT v.type, 10, v.date, 'transaction', ?, c.id, now(), now()
+                FROM categories c
+                CROSS JOIN (VALUES ('EXPENSE', DATE '2024-04-02'), ('EXPENSE', DATE '2024-04-28'),
+                                   ('EXPENSE', DATE '2024-05-01'), ('INCOME', DATE '2024-04-10')) v(type, date)
+                WHERE c.user_id = ?
+                """, userId, userId);
+        monthlyRollupRepository.insertFromTransactions();
+
+        user = entityManager.find(User.class, userId);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findAllByMonth_shouldUseOneStatement() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<BudgetResponse> budgets = budgetService.findAllByMonth(YearMonth.of(2024, 4), user);
+
+        assertThat(budgets).hasSize(BUDGETS);
+        assertThat(budgets).allSatisfy(b -> {
+            assertThat(b.category().name()).startsWith("category ");
+            assertThat(b.spent()).isEqualByComparingTo("20.00");
+            assertThat(b.percentage()).isEqualByComparingTo("20.00");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+}
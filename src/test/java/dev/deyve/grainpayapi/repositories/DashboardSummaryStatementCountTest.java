@@ -0,0 +1,119 @@
+package dev.deyve.grainpayapi.repositories;
+
+import dev.deyve.grainpayapi.dtos.CategorySummary;
+import dev.deyve.grainpayapi.dtos.DashboardSummaryResponse;
+import dev.deyve.grainpayapi.dtos.SourceSummary;
+import dev.deyve.grainpayapi.models.IncomeSource;
+import dev.deyve.grainpayapi.models.User;
+import dev.deyve.grainpayapi.services.DashboardCache;
+import dev.deyve.grainpayapi.services.DashboardService;
+import dev.deyve.grainpayapi.services.UserDataVersionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The dashboard summary, with or without the previous month for comparison, must cost a
+ * single statement and agree with the raw transactions.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class DashboardSummaryStatementCountTest extends PostgresRepositoryTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    private DashboardService dashboardService;
+    private User user;
+
+    @BeforeEach
+    void seed() {
+        dashboardService = new DashboardService(monthlyRollupRepository,
+                new DashboardCache(100, Duration.ofMinutes(10), new SimpleMeterRegistry()),
+                new UserDataVersionService(new UserDataVersionRepository(jdbcTemplate)));
+
+        jdbcTemplate.update("""
+                INSERT INTO users (name, email, password, role, created_at, updated_at)
+                VALUES ('dashboard', 'dashboard@grainpay.dev', 'x', 'USER', now(), now())
+                """);
+        long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'dashboard@grainpay.dev'", Long.class);
+        jdbcTemplate.update("""
+                INSERT INTO categories (name, type, user_id, created_at, updated_at)
+                VALUES ('Mercado', 'EXPENSE', ?, now(), now()), ('Lazer', 'EXPENSE', ?, now(), now())
+                """, userId, userId);
+        jdbcTemplate.update("""
+                INSERT INTO transactions (type, amount, date, description, user_id, category_id, source, created_at, updated_at)
+                SELECT v.type, v.amount, v.date, 'transaction', ?, c.id, v.source, now(), now()
+                FROM (VALUES ('EXPENSE', 300, DATE '2024-04-02', 'Mercado', NULL),
+                             ('EXPENSE', 100, DATE '2024-04-20', 'Mercado', NULL),
+                             ('EXPENSE', 50,  DATE '2024-04-21', 'Lazer', NULL),
+                             ('EXPENSE', 25,  DATE '2024-04-22', NULL, NULL),
+                             ('INCOME', 3000, DATE '2024-04-05', NULL, 'SALARY'),
+                             ('INCOME', 200,  DATE '2024-04-15', NULL, 'FREELANCE'),
+                             ('EXPENSE', 80,  DATE '2024-03-10', 'Lazer', NULL),
+                             ('INCOME', 2500, DATE '2024-03-05', NULL, 'SALARY'),
+                             ('EXPENSE', 999, DATE '2024-05-01', 'Mercado', NULL))
+                     v(type, amount, date, category, source)
+                LEFT JOIN categories c ON c.name = v.category AND c.user_id = ?
+                """, userId, userId);
+        monthlyRollupRepository.insertFromTransactions();
+
+        user = entityManager.find(User.class, userId);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void getSummary_shouldReadTheMonthInOneStatement() {
+        Statistics statistics = statistics();
+
+        DashboardSummaryResponse summary = dashboardService.getSummary(YearMonth.of(2024, 4), false, user);
+
+        assertThat(summary.totalIncome()).isEqualByComparingTo("3200");
+        assertThat(summary.totalExpenses()).isEqualByComparingTo("475");
+        assertThat(summary.balance()).isEqualByComparingTo("2725");
+        assertThat(summary.expensesByCategory()).extracting(CategorySummary::categoryName)
+                .containsExactly("Mercado", "Lazer", "Sem categoria");
+        assertThat(summary.incomeBySource()).extracting(SourceSummary::source)
+                .containsExactly(IncomeSource.SALARY, IncomeSource.FREELANCE);
+        assertThat(summary.previousMonth()).isNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void getSummary_shouldReadThePreviousMonthInTheSameStatement() {
+        Statistics statistics = statistics();
+
+        DashboardSummaryResponse summary = dashboardService.getSummary(YearMonth.of(2024, 4), true, user);
+
+        assertThat(summary.totalExpenses()).isEqualByComparingTo("475");
+        DashboardSummaryResponse previous = summary.previousMonth();
+        assertThat(previous.totalIncome()).isEqualByComparingTo("2500");
+        assertThat(previous.totalExpenses()).isEqualByComparingTo("80");
+        assertThat(previous.expensesByCategory()).containsExactly(new CategorySummary("Lazer", previous.expensesByCategory().getFirst().total()));
+        assertThat(previous.previousMonth()).isNull();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
@@ -0,0 +1,88 @@
+package dev.deyve.grainpayapi.repositories;
+
+import dev.deyve.grainpayapi.models.ImportJobStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImportJobRepositoryTest extends PostgresRepositoryTest {
+
+    private static final LocalDateTime STARTED_AT = LocalDateTime.of(2024, 5, 1, 12, 0);
+    private static final long LEASE_SECONDS = 300;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ImportJobRepository importJobRepository;
+
+    private long userId;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("""
+                INSERT INTO users (name, email, password, role, created_at, updated_at)
+                VALUES ('importer', 'importer@grainpay.dev', 'x', 'USER', now(), now())
+                """);
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'importer@grainpay.dev'", Long.class);
+    }
+
+    @Test
+    void failAbandoned_shouldFailOnlyJobsOfThisNodesPreviousRunAndExpiredOnes() {
+        UUID beforeRestart = job("node-a", ImportJobStatus.RUNNING, STARTED_AT.minusMinutes(1), 0);
+        UUID sinceRestart = job("node-a", ImportJobStatus.PENDING, STARTED_AT.plusMinutes(1), 0);
+        UUID otherLiveNode = job("node-b", ImportJobStatus.RUNNING, STARTED_AT.minusMinutes(1), 60);
+        UUID otherDeadNode = job("node-c", ImportJobStatus.RUNNING, STARTED_AT.minusMinutes(1), 600);
+        UUID completed = job("node-a", ImportJobStatus.COMPLETED, STARTED_AT.minusMinutes(1), 600);
+
+        int failed = importJobRepository.failAbandoned("node-a", STARTED_AT, LEASE_SECONDS, "gone", STARTED_AT);
+
+        assertThat(failed).isEqualTo(2);
+        assertThat(status(beforeRestart)).isEqualTo("FAILED");
+        assertThat(status(otherDeadNode)).isEqualTo("FAILED");
+        assertThat(status(sinceRestart)).isEqualTo("PENDING");
+        assertThat(status(otherLiveNode)).isEqualTo("RUNNING");
+        assertThat(status(completed)).isEqualTo("COMPLETED");
+    }
+
+    @Test
+    void heartbeat_shouldKeepThisNodesCurrentJobsAlive() {
+        UUID current = job("node-a", ImportJobStatus.RUNNING, STARTED_AT.plusMinutes(1), 600);
+
+        importJobRepository.heartbeat("node-a", STARTED_AT);
+
+        assertThat(importJobRepository.failAbandoned("node-b", STARTED_AT, LEASE_SECONDS, "gone", STARTED_AT)).isZero();
+        assertThat(status(current)).isEqualTo("RUNNING");
+    }
+
+    @Test
+    void finishAndAddProgress_shouldLeaveAFailedJobAlone() {
+        UUID abandoned = job("node-a", ImportJobStatus.FAILED, STARTED_AT, 0);
+
+        assertThat(importJobRepository.addProgress(abandoned, 10, 10, 0, 0)).isZero();
+        assertThat(importJobRepository.finish(abandoned, ImportJobStatus.RUNNING, ImportJobStatus.COMPLETED,
+                null, STARTED_AT)).isZero();
+        assertThat(status(abandoned)).isEqualTo("FAILED");
+        assertThat(jdbcTemplate.queryForObject("SELECT rows_processed FROM import_jobs WHERE id = ?",
+                Integer.class, abandoned)).isZero();
+    }
+
+    private UUID job(String owner, ImportJobStatus status, LocalDateTime createdAt, int secondsSinceHeartbeat) {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO import_jobs (id, user_id, owner, status, heartbeat_at, created_at, updated_at)
+                VALUES (?, ?, ?, ?, now() - make_interval(secs => ?), ?, ?)
+                """, id, userId, owner, status.name(), secondsSinceHeartbeat, createdAt, createdAt);
+        return id;
+    }
+
+    private String status(UUID id) {
+        return jdbcTemplate.queryForObject("SELECT status FROM import_jobs WHERE id = ?", String.class, id);
+    }
+}
@@ -0,0 +1,125 @@
+package dev.deyve.grainpayapi.repositories;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import dev.deyve.grainpayapi.dtos.TransactionFilter;
+import dev.deyve.grainpayapi.mappers.AccountMapperImpl;
+import dev.deyve.grainpayapi.mappers.CategoryMapperImpl;
+import dev.deyve.grainpayapi.mappers.RecurringTransactionMapperImpl;
+import dev.deyve.grainpayapi.mappers.TransactionMapperImpl;
+import dev.deyve.grainpayapi.models.User;
+import dev.deyve.grainpayapi.services.BudgetService;
+import dev.deyve.grainpayapi.services.BudgetThresholdMonitor;
+import dev.deyve.grainpayapi.services.RecurringTransactionService;
+import dev.deyve.grainpayapi.services.TransactionService;
+import dev.deyve.grainpayapi.services.UserDataVersionService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Open-session-in-view is off, so whatever a read service returns must already be loaded
+ * when its transaction ends. Runs without the test transaction, the way a controller calls
+ * the services, and renders every result to JSON: a lazy association or collection left
+ * for rendering fails with {@code LazyInitializationException}.
+ */
+@Import({TransactionService.class, RecurringTransactionService.class, BudgetService.class,
+        BudgetThresholdMonitor.class, UserDataVersionService.class, UserDataVersionRepository.class,
+        TransactionBulkInserter.class, TransactionMapperImpl.class, RecurringTransactionMapperImpl.class,
+        CategoryMapperImpl.class, AccountMapperImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LazyLoadingGuardTest extends PostgresRepositoryTest {
+
+    private static final ObjectMapper JSON = JsonMapper.builder().findAndAddModules().build();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private RecurringTransactionService recurringTransactionService;
+
+    @Autowired
+    private BudgetService budgetService;
+
+    private User user;
+    private long transactionId;
+    private long recurringId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO users (name, email, password, role, created_at, updated_at)
+                VALUES ('lazy', 'lazy@grainpay.dev', 'x', 'USER', now(), now())
+                """);
+        long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'lazy@grainpay.dev'", Long.class);
+        long categoryId = jdbcTemplate.queryForObject("""
+                INSERT INTO categories (name, type, user_id, created_at, updated_at)
+                VALUES ('Mercado', 'EXPENSE', ?, now(), now()) RETURNING id
+                """, Long.class, userId);
+        long accountId = jdbcTemplate.queryForObject("""
+                INSERT INTO accounts (name, type, balance, opening_balance, user_id, created_at, updated_at)
+                VALUES ('Conta', 'CHECKING', 0, 0, ?, now(), now()) RETURNING id
+                """, Long.class, userId);
+        transactionId = jdbcTemplate.queryForObject("""
+                INSERT INTO transactions (type, amount, date, description, user_id, category_id, account_id, created_at, updated_at)
+                VALUES ('EXPENSE', 10, DATE '2024-04-02', 'transaction', ?, ?, ?, now(), now()) RETURNING id
+                """, Long.class, userId, categoryId, accountId);
+        jdbcTemplate.update("INSERT INTO transaction_tags (transaction_id, tag) VALUES (?, 'feira')", transactionId);
+        recurringId = jdbcTemplate.queryForObject("""
+                INSERT INTO recurring_transactions (description, amount, type, category_id, account_id, recurrence_type,
+                                                    start_date, is_active, user_id, created_at, updated_at)
+                VALUES ('aluguel', 1000, 'EXPENSE', ?, ?, 'MONTHLY', DATE '2024-04-05', true, ?, now(), now()) RETURNING id
+                """, Long.class, categoryId, accountId, userId);
+        jdbcTemplate.update("""
+                INSERT INTO budgets (limit_amount, month, year, category_id, user_id, created_at, updated_at)
+                VALUES (100, 4, 2024, ?, ?, now(), now())
+                """, categoryId, userId);
+
+        user = userRepository.findById(userId).orElseThrow();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("TRUNCATE users CASCADE");
+    }
+
+    @Test
+    void transactionReads_shouldBeRenderableOutsideATransaction() throws Exception {
+        TransactionFilter noFilter = new TransactionFilter(null, null, null, null, null, null, null);
+
+        assertRenders(transactionService.findAll(noFilter, user, PageRequest.of(0, 20)).getContent());
+        assertRenders(transactionService.findAllByCursor(noFilter, user, null, 20));
+        assertRenders(transactionService.findById(transactionId, user));
+    }
+
+    @Test
+    void recurringTransactionReads_shouldBeRenderableOutsideATransaction() throws Exception {
+        assertRenders(recurringTransactionService.findAll(user, PageRequest.of(0, 20)).getContent());
+        assertRenders(recurringTransactionService.findById(recurringId, user));
+    }
+
+    @Test
+    void budgetReads_shouldBeRenderableOutsideATransaction() throws Exception {
+        assertRenders(budgetService.findAllByMonth(YearMonth.of(2024, 4), user));
+    }
+
+    private static void assertRenders(Object response) throws Exception {
+        assertThat(JSON.writeValueAsString(response)).isNotBlank();
+    }
+}
@@ -0,0 +1,93 @@
+package dev.deyve.grainpayapi.repositories;
+
+import dev.deyve.grainpayapi.dtos.TransactionCursorPage;
+import dev.deyve.grainpayapi.dtos.TransactionFilter;
+import dev.deyve.grainpayapi.dtos.TransactionResponse;
+import dev.deyve.grainpayapi.mappers.AccountMapperImpl;
+import dev.deyve.grainpayapi.mappers.CategoryMapperImpl;
+import dev.deyve.grainpayapi.mappers.TransactionMapperImpl;
+import dev.deyve.grainpayapi.models.User;
+import dev.deyve.grainpayapi.services.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Walks the whole listing with {@link TransactionService#findAllByCursor} over rows that
+ * share dates, so page boundaries fall inside a day: every row must come back exactly
+ * once, in (date DESC, id DESC) order, and the last page must carry no cursor.
+ */
+@Import({TransactionService.class, TransactionMapperImpl.class, CategoryMapperImpl.class, AccountMapperImpl.class})
+class TransactionKeysetPagingTest extends PostgresRepositoryTest {
+
+    private static final int ROWS = 47;
+    private static final TransactionFilter NO_FILTER = new TransactionFilter(null, null, null, null, null, null, null);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    private User user;
+    private List<Long> expectedIds;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO users (name, email, password, role, created_at, updated_at)
+                VALUES ('keyset', 'keyset@grainpay.dev', 'x', 'USER', now(), now())
+                """);
+        long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'keyset@grainpay.dev'", Long.class);
+
+        // 47 rows over 5 days: 9 or 10 transactions per date
+        jdbcTemplate.update("""
+                INSERT INTO transactions (type, amount, date, description, user_id, created_at, updated_at)
+                SELECT 'EXPENSE', g, DATE '2024-03-01' + (g % 5), 'transaction ' || g, ?, now(), now()
+                FROM generate_series(1, ?) g
+                """, userId, ROWS);
+
+        user = userRepository.findById(userId).orElseThrow();
+        expectedIds = jdbcTemplate.queryForList(
+                "SELECT id FROM transactions WHERE user_id = ? ORDER BY date DESC, id DESC", Long.class, userId);
+    }
+
+    @Test
+    void findAllByCursor_shouldReturnEveryRowOnceAcrossPages() {
+        List<TransactionResponse> seen = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = "";
+
+        do {
+            TransactionCursorPage page = transactionService.findAllByCursor(NO_FILTER, user, cursor, 10);
+            seen.addAll(page.content());
+            pageSizes.add(page.content().size());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).extracting(TransactionResponse::id).containsExactlyElementsOf(expectedIds);
+        assertThat(seen).isSortedAccordingTo(Comparator.comparing(TransactionResponse::date).reversed());
+        assertThat(pageSizes).containsExactly(10, 10, 10, 10, 7);
+    }
+
+    @Test
+    void findAllByCursor_shouldEndWithoutCursorWhenTheLastPageIsFull() {
+        TransactionCursorPage first = transactionService.findAllByCursor(NO_FILTER, user, "", 40);
+        TransactionCursorPage last = transactionService.findAllByCursor(NO_FILTER, user, first.nextCursor(), 7);
+
+        assertThat(first.nextCursor()).isNotNull();
+        assertThat(last.content()).extracting(TransactionResponse::id).containsExactlyElementsOf(expectedIds.subList(40, ROWS));
+        assertThat(last.nextCursor()).isNull();
+    }
+}
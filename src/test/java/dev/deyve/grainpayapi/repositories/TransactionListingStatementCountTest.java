@@ -0,0 +1,107 @@
+package dev.deyve.grainpayapi.repositories;
+
+import dev.deyve.grainpayapi.dtos.TransactionFilter;
+import dev.deyve.grainpayapi.dtos.TransactionResponse;
+import dev.deyve.grainpayapi.mappers.AccountMapperImpl;
+import dev.deyve.grainpayapi.mappers.CategoryMapperImpl;
+import dev.deyve.grainpayapi.mappers.TransactionMapper;
+import dev.deyve.grainpayapi.mappers.TransactionMapperImpl;
+import dev.deyve.grainpayapi.models.User;
+import dev.deyve.grainpayapi.services.TransactionSpecification;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mapping a listing page must not fan out into one SELECT per row for category,
+ * account or tags: the statement count has to stay flat as the page grows.
+ */
+@Import({TransactionMapperImpl.class, CategoryMapperImpl.class, AccountMapperImpl.class})
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TransactionListingStatementCountTest extends PostgresRepositoryTest {
+
+    // page query + count query + one tags batch
+    private static final long MAX_STATEMENTS = 3;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionMapper transactionMapper;
+
+    private User user;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO users (name, email, password, role, created_at, updated_at)
+                VALUES ('listing', 'listing@grainpay.dev', 'x', 'USER', now(), now())
+                """);
+        long userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'listing@grainpay.dev'", Long.class);
+
+        jdbcTemplate.update("""
+                INSERT INTO categories (name, type, user_id, created_at, updated_at)
+                SELECT 'category ' || g, 'EXPENSE', ?, now(), now() FROM generate_series(1, 100) g
+                """, userId);
+        jdbcTemplate.update("""
+                INSERT INTO accounts (name, type, balance, user_id, created_at, updated_at)
+                SELECT 'account ' || g, 'CHECKING', 0, ?, now(), now() FROM generate_series(1, 100) g
+                """, userId);
+        jdbcTemplate.update("""
+                INSERT INTO transactions (type, amount, date, description, user_id, category_id, account_id, created_at, updated_at)
+                SELECT 'EXPENSE', g, DATE '2024-01-01' + g, 'transaction ' || g, ?,
+                       (SELECT id FROM categories WHERE name = 'category ' || g),
+                       (SELECT id FROM accounts WHERE name = 'account ' || g),
+                       now(), now()
+                FROM generate_series(1, 100) g
+                """, userId);
+        jdbcTemplate.update("""
+                INSERT INTO transaction_tags (transaction_id, tag)
+                SELECT t.id, tag FROM transactions t CROSS JOIN (VALUES ('home'), ('monthly')) v(tag)
+                WHERE t.user_id = ?
+                """, userId);
+
+        user = entityManager.find(User.class, userId);
+        entityManager.clear();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 50, 100})
+    void findAll_shouldLoadPageWithBoundedStatements(int pageSize) {
+        TransactionFilter filter = new TransactionFilter(null, null, null, null, null, null, null);
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<TransactionResponse> page = transactionRepository
+                .findAll(TransactionSpecification.withFilters(filter, user), PageRequest.of(0, pageSize, Sort.by("date")))
+                .map(transactionMapper::toResponse)
+                .getContent();
+
+        assertThat(page).hasSize(pageSize);
+        assertThat(page).allSatisfy(t -> {
+            assertThat(t.category().name()).startsWith("category ");
+            assertThat(t.account().name()).startsWith("account ");
+            assertThat(t.tags()).containsExactlyInAnyOrder("home", "monthly");
+        });
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(MAX_STATEMENTS);
+    }
+}
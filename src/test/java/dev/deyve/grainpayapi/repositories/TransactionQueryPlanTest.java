@@ -0,0 +1,214 @@
+package dev.deyve.grainpayapi.repositories;
+
+import dev.deyve.grainpayapi.dtos.TransactionFilter;
+import dev.deyve.grainpayapi.mappers.AccountMapperImpl;
+import dev.deyve.grainpayapi.mappers.CategoryMapperImpl;
+import dev.deyve.grainpayapi.mappers.TransactionMapperImpl;
+import dev.deyve.grainpayapi.models.User;
+import dev.deyve.grainpayapi.services.TransactionCursor;
+import dev.deyve.grainpayapi.services.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGStatement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the transactions indexes: each test runs a {@link TransactionService},
+ * {@link TransactionRepository} or {@link MonthlyRollupRepository} read, captures the SQL
+ * Hibernate actually sent with its bound values, and requires the plan to seek an index
+ * instead of scanning the table.
+ */
+@Import({TransactionService.class, TransactionMapperImpl.class, CategoryMapperImpl.class, AccountMapperImpl.class,
+        TransactionQueryPlanTest.CapturedQueries.class})
+class TransactionQueryPlanTest extends PostgresRepositoryTest {
+
+    private static final TransactionFilter NO_FILTER = new TransactionFilter(null, null, null, null, null, null, null);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private CapturedQueries capturedQueries;
+
+    private long userId;
+    private User user;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO users (name, email, password, role, created_at, updated_at)
+                SELECT 'user ' || g, 'user' || g || '@grainpay.dev', 'x', 'USER', now(), now()
+                FROM generate_series(1, 50) g
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO categories (name, type, user_id, created_at, updated_at)
+                SELECT 'category ' || u.id, 'EXPENSE', u.id, now(), now() FROM users u
+                """);
+        jdbcTemplate.update("""
+                INSERT INTO transactions (type, amount, date, description, user_id, category_id, created_at, updated_at)
+                SELECT CASE WHEN g % 3 = 0 THEN 'INCOME' ELSE 'EXPENSE' END,
+                       (g % 500) + 1,
+                       DATE '2020-01-01' + (g % 2000),
+                       'transaction ' || g,
+                       u.id,
+                       c.id,
+                       now(), now()
+                FROM generate_series(1, 50000) g
+                JOIN users u ON u.email = 'user' || ((g % 50) + 1) || '@grainpay.dev'
+                JOIN categories c ON c.user_id = u.id
+                """);
+        jdbcTemplate.execute("ANALYZE users");
+        jdbcTemplate.execute("ANALYZE categories");
+        jdbcTemplate.execute("ANALYZE transactions");
+
+        userId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = 'user1@grainpay.dev'", Long.class);
+        user = userRepository.findById(userId).orElseThrow();
+    }
+
+    @Test
+    void listingByDateRange_shouldUseUserDateIndex() {
+        TransactionFilter april = new TransactionFilter(null, LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 30),
+                null, null, null, null);
+        capturedQueries.clear();
+
+        transactionService.findAll(april, user, PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "date")));
+
+        assertSeeksByUserAndDate(explain(capturedQueries.first()));
+    }
+
+    @Test
+    void sumExpensesByUserAndCategoryAndDateBetween_shouldUseCategoryIndex() {
+        long categoryId = jdbcTemplate.queryForObject("SELECT id FROM categories WHERE user_id = ?", Long.class, userId);
+        capturedQueries.clear();
+
+        transactionRepository.sumExpensesByUserAndCategoryAndDateBetween(userId, categoryId,
+                LocalDate.of(2024, 4, 1), LocalDate.of(2024, 4, 30));
+
+        String plan = explain(capturedQueries.first());
+        assertThat(plan).contains("idx_transactions_user_category_date");
+        assertThat(plan).doesNotContain("Seq Scan on transactions");
+    }
+
+    @Test
+    void sumByCategoryAndType_shouldSeekRollupKey() {
+        jdbcTemplate.update("""
+                INSERT INTO monthly_rollups (user_id, year, month, type, category_id, source, total, tx_count)
+                SELECT user_id, EXTRACT(YEAR FROM date)::INTEGER, EXTRACT(MONTH FROM date)::INTEGER,
+                       type, category_id, source, SUM(amount), COUNT(*)
+                FROM transactions GROUP BY 1, 2, 3, 4, 5, 6
+                """);
+        jdbcTemplate.execute("ANALYZE monthly_rollups");
+        capturedQueries.clear();
+
+        monthlyRollupRepository.sumByCategoryAndType(userId, 2024, 4);
+
+        String plan = explain(capturedQueries.first());
+        assertThat(plan).contains("uq_monthly_rollups_key");
+        assertThat(plan).doesNotContain("Seq Scan on monthly_rollups");
+    }
+
+    @Test
+    void keysetPage_shouldWalkIndexWithoutSorting() {
+        String cursor = new TransactionCursor(LocalDate.of(2023, 6, 1), 30_000L).encode();
+        capturedQueries.clear();
+
+        transactionService.findAllByCursor(NO_FILTER, user, cursor, 20);
+
+        String plan = explain(capturedQueries.first());
+        assertThat(plan).contains("Index Scan Backward using idx_transactions_user_date_id");
+        assertThat(plan).doesNotContain("Sort");
+    }
+
+    private void assertSeeksByUserAndDate(String plan) {
+        assertThat(plan).contains("idx_transactions_user_date_id");
+        assertThat(plan).containsPattern("Index Cond: .*date >=");
+        assertThat(plan).doesNotContain("Seq Scan on transactions");
+    }
+
+    private String explain(String sql) {
+        return String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class));
+    }
+
+    /**
+     * Keeps every prepared query the application executes, rendered by the driver with its
+     * bound values inlined, so it can be explained as sent.
+     */
+    static class CapturedQueries implements BeanPostProcessor {
+
+        private final List<String> queries = new CopyOnWriteArrayList<>();
+
+        void clear() {
+            queries.clear();
+        }
+
+        String first() {
+            assertThat(queries).as("captured queries").isNotEmpty();
+            return queries.getFirst();
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) return bean;
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    Connection connection = super.getConnection();
+                    return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                            new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                                Object result = invoke(connection, method, args);
+                                return result instanceof PreparedStatement statement ? capturing(statement) : result;
+                            });
+                }
+            };
+        }
+
+        private PreparedStatement capturing(PreparedStatement statement) {
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, (proxy, method, args) -> {
+                        if (method.getName().equals("executeQuery")) {
+                            queries.add(statement.unwrap(PGStatement.class).toString());
+                        }
+                        return invoke(statement, method, args);
+                    });
+        }
+
+        private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package dev.deyve.grainpayapi.security;
+
+import dev.deyve.grainpayapi.models.User;
+import dev.deyve.grainpayapi.models.UserRole;
+import dev.deyve.grainpayapi.repositories.UserRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthFilterTest {
+
+    private static final String SECRET = "dGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtdGVzdC1zZWNyZXQtMTIzNDU2";
+    private static final long EXPIRATION = 3_600_000;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private JwtService jwtService;
+    private JwtPrincipalCache principalCache;
+    private JwtAuthFilter filter;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(SECRET, EXPIRATION);
+        principalCache = new JwtPrincipalCache(100, Duration.ofMinutes(5), EXPIRATION);
+        filter = new JwtAuthFilter(jwtService, principalCache, userRepository);
+
+        user = new User("Ana", "ana@grainpay.dev", "hash", UserRole.USER);
+        user.setId(7L);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void shouldAuthenticateFromClaimsWithoutQueryingUsers() throws Exception {
+        Authentication authentication = authenticate(jwtService.generateToken(user));
+
+        User principal = (User) authentication.getPrincipal();
+        assertThat(principal.getId()).isEqualTo(7L);
+        assertThat(principal.getUsername()).isEqualTo("ana@grainpay.dev");
+        assertThat(authentication.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_USER");
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void shouldServeRepeatedTokenFromCache() throws Exception {
+        String token = jwtService.generateToken(user);
+
+        Authentication first = authenticate(token);
+        SecurityContextHolder.clearContext();
+        Authentication second = authenticate(token);
+
+        assertThat(second.getPrincipal()).isSameAs(first.getPrincipal());
+    }
+
+    @Test
+    void shouldLoadUserForTokenWithoutClaims() throws Exception {
+        String legacyToken = Jwts.builder()
+                .subject("ana@grainpay.dev")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + EXPIRATION))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .compact();
+        when(userRepository.findByEmail("ana@grainpay.dev")).thenReturn(Optional.of(user));
+
+        authenticate(legacyToken);
+        SecurityContextHolder.clearContext();
+        Authentication authentication = authenticate(legacyToken);
+
+        assertThat(authentication.getPrincipal()).isSameAs(user);
+        verify(userRepository, times(1)).findByEmail("ana@grainpay.dev");
+    }
+
+    @Test
+    void shouldReloadUserAfterChange() throws Exception {
+        String token = jwtService.generateToken(user);
+        authenticate(token);
+        SecurityContextHolder.clearContext();
+
+        User promoted = new User("Ana", "ana@grainpay.dev", "hash", UserRole.ADMIN);
+        promoted.setId(7L);
+        when(userRepository.findByEmail("ana@grainpay.dev")).thenReturn(Optional.of(promoted));
+        principalCache.invalidateUser(7L);
+
+        Authentication authentication = authenticate(token);
+
+        assertThat(authentication.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_ADMIN");
+    }
+
+    @Test
+    void shouldLeaveRequestUnauthenticatedForInvalidToken() throws Exception {
+        String token = jwtService.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThat(authenticate(tampered)).isNull();
+        assertThat(authenticate("not-a-jwt")).isNull();
+    }
+
+    @Test
+    void shouldExposeTheUserIdToLaterFilters() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + jwtService.generateToken(user));
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(request.getAttribute(JwtAuthFilter.USER_ID_ATTRIBUTE)).isEqualTo(7L);
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
@@ -0,0 +1,159 @@
+package dev.deyve.grainpayapi.services;
+
+import dev.deyve.grainpayapi.events.TransactionSnapshot;
+import dev.deyve.grainpayapi.events.TransactionsChangedEvent;
+import dev.deyve.grainpayapi.models.AccountBalanceSnapshot;
+import dev.deyve.grainpayapi.models.TransactionType;
+import dev.deyve.grainpayapi.repositories.AccountBalanceSnapshotRepository;
+import dev.deyve.grainpayapi.repositories.AccountRepository;
+import dev.deyve.grainpayapi.repositories.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AccountBalanceServiceTest {
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountBalanceSnapshotRepository snapshotRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @InjectMocks
+    private AccountBalanceService accountBalanceService;
+
+    @Test
+    void onTransactionsChanged_shouldApplySignedDeltasPerAccountAndMonth() {
+        TransactionSnapshot rent = tx(2L, TransactionType.EXPENSE, "2024-04-03", "1200.00");
+        TransactionSnapshot salary = tx(2L, TransactionType.INCOME, "2024-04-05", "3000.00");
+        TransactionSnapshot lastMonth = tx(1L, TransactionType.EXPENSE, "2024-03-28", "40.00");
+
+        accountBalanceService.onTransactionsChanged(
+                new TransactionsChangedEvent(List.of(), List.of(rent, salary, lastMonth)));
+
+        InOrder inOrder = inOrder(accountRepository, snapshotRepository);
+        inOrder.verify(accountRepository).addToBalance(1L, new BigDecimal("-40.00"));
+        inOrder.verify(accountRepository).addToBalance(2L, new BigDecimal("1800.00"));
+        inOrder.verify(snapshotRepository).shiftFrom(1L, LocalDate.parse("2024-03-31"), new BigDecimal("-40.00"));
+        inOrder.verify(snapshotRepository).shiftFrom(2L, LocalDate.parse("2024-04-30"), new BigDecimal("1800.00"));
+        verifyNoMoreInteractions(accountRepository, snapshotRepository);
+    }
+
+    @Test
+    void onTransactionsChanged_shouldMoveAmountBetweenAccounts() {
+        TransactionSnapshot before = tx(1L, TransactionType.EXPENSE, "2024-04-03", "50.00");
+        TransactionSnapshot after = tx(2L, TransactionType.EXPENSE, "2024-04-03", "50.00");
+
+        accountBalanceService.onTransactionsChanged(new TransactionsChangedEvent(List.of(before), List.of(after)));
+
+        verify(accountRepository).addToBalance(1L, new BigDecimal("50.00"));
+        verify(accountRepository).addToBalance(2L, new BigDecimal("-50.00"));
+    }
+
+    @Test
+    void onTransactionsChanged_shouldShiftOnlyTheOlderMonthWhenDateMovesForward() {
+        TransactionSnapshot before = tx(1L, TransactionType.EXPENSE, "2024-02-10", "50.00");
+        TransactionSnapshot after = tx(1L, TransactionType.EXPENSE, "2024-04-10", "50.00");
+
+        accountBalanceService.onTransactionsChanged(new TransactionsChangedEvent(List.of(before), List.of(after)));
+
+        verify(accountRepository, never()).addToBalance(any(), any());
+        verify(snapshotRepository).shiftFrom(1L, LocalDate.parse("2024-02-29"), new BigDecimal("50.00"));
+        verify(snapshotRepository).shiftFrom(1L, LocalDate.parse("2024-04-30"), new BigDecimal("-50.00"));
+    }
+
+    @Test
+    void onTransactionsChanged_shouldIgnoreTransactionsWithoutAccount() {
+        accountBalanceService.onTransactionsChanged(new TransactionsChangedEvent(List.of(),
+                List.of(tx(null, TransactionType.EXPENSE, "2024-04-03", "50.00"))));
+
+        verifyNoInteractions(accountRepository, snapshotRepository);
+    }
+
+    @Test
+    void balanceAsOf_shouldAddRowsAfterNearestSnapshot() {
+        LocalDate asOf = LocalDate.parse("2024-04-15");
+        when(snapshotRepository.findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(1L, asOf))
+                .thenReturn(Optional.of(snapshot("2024-03-31", "1000.00")));
+        when(transactionRepository.sumNetByAccountBetween(1L, LocalDate.parse("2024-03-31"), asOf))
+                .thenReturn(new BigDecimal("-250.00"));
+
+        assertThat(accountBalanceService.balanceAsOf(1L, asOf)).isEqualByComparingTo("750.00");
+        verify(transactionRepository, never()).sumNetByAccountAfter(any(), any());
+    }
+
+    @Test
+    void balanceAsOf_shouldWalkBackFromFirstSnapshotForEarlierDates() {
+        LocalDate asOf = LocalDate.parse("2024-01-10");
+        when(snapshotRepository.findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(1L, asOf))
+                .thenReturn(Optional.empty());
+        when(snapshotRepository.findFirstByAccountIdAndAsOfGreaterThanOrderByAsOfAsc(1L, asOf))
+                .thenReturn(Optional.of(snapshot("2024-01-31", "500.00")));
+        when(transactionRepository.sumNetByAccountBetween(1L, asOf, LocalDate.parse("2024-01-31")))
+                .thenReturn(new BigDecimal("120.00"));
+
+        assertThat(accountBalanceService.balanceAsOf(1L, asOf)).isEqualByComparingTo("380.00");
+    }
+
+    @Test
+    void balanceAsOf_shouldUseCurrentBalanceWhenAccountHasNoSnapshots() {
+        LocalDate asOf = LocalDate.parse("2024-04-15");
+        when(snapshotRepository.findFirstByAccountIdAndAsOfLessThanEqualOrderByAsOfDesc(1L, asOf))
+                .thenReturn(Optional.empty());
+        when(snapshotRepository.findFirstByAccountIdAndAsOfGreaterThanOrderByAsOfAsc(1L, asOf))
+                .thenReturn(Optional.empty());
+        when(accountRepository.findBalanceById(1L)).thenReturn(new BigDecimal("900.00"));
+        when(transactionRepository.sumNetByAccountAfter(1L, asOf)).thenReturn(new BigDecimal("-100.00"));
+
+        assertThat(accountBalanceService.balanceAsOf(1L, asOf)).isEqualByComparingTo("1000.00");
+    }
+
+    @Test
+    void snapshotClosedMonths_shouldCatchUpEveryMissedMonthEnd() {
+        when(snapshotRepository.findLatestAsOf()).thenReturn(LocalDate.parse("2024-01-31"));
+
+        accountBalanceService.snapshotClosedMonths(LocalDate.parse("2024-04-02"));
+
+        InOrder inOrder = inOrder(snapshotRepository);
+        inOrder.verify(snapshotRepository).lockForSnapshot();
+        inOrder.verify(snapshotRepository).insertMonthEnd(LocalDate.parse("2024-02-29"));
+        inOrder.verify(snapshotRepository).insertMonthEnd(LocalDate.parse("2024-03-31"));
+        verify(snapshotRepository, times(2)).insertMonthEnd(any());
+    }
+
+    @Test
+    void snapshotClosedMonths_shouldDoNothingWhenUpToDate() {
+        when(snapshotRepository.findLatestAsOf()).thenReturn(LocalDate.parse("2024-03-31"));
+
+        assertThat(accountBalanceService.snapshotClosedMonths(LocalDate.parse("2024-04-30"))).isZero();
+        verify(snapshotRepository, never()).insertMonthEnd(any());
+    }
+
+    private TransactionSnapshot tx(Long accountId, TransactionType type, String date, String amount) {
+        return new TransactionSnapshot(1L, null, accountId, type, null, LocalDate.parse(date), new BigDecimal(amount));
+    }
+
+    private AccountBalanceSnapshot snapshot(String asOf, String balance) {
+        AccountBalanceSnapshot snapshot = new AccountBalanceSnapshot();
+        ReflectionTestUtils.setField(snapshot, "asOf", LocalDate.parse(asOf));
+        ReflectionTestUtils.setField(snapshot, "balance", new BigDecimal(balance));
+        return snapshot;
+    }
+}
@@ -0,0 +1,76 @@
+package dev.deyve.grainpayapi.services;
+
+import dev.deyve.grainpayapi.events.TransactionSnapshot;
+import dev.deyve.grainpayapi.events.TransactionsChangedEvent;
+import dev.deyve.grainpayapi.models.IncomeSource;
+import dev.deyve.grainpayapi.models.TransactionType;
+import dev.deyve.grainpayapi.repositories.BudgetRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BudgetThresholdMonitorTest {
+
+    @Mock
+    private BudgetRepository budgetRepository;
+
+    @InjectMocks
+    private BudgetThresholdMonitor monitor;
+
+    private final YearMonth current = YearMonth.now();
+
+    @Test
+    void onTransactionsChanged_shouldCheckTouchedCategoriesOncePerMonth() {
+        YearMonth next = current.plusMonths(1);
+
+        monitor.onTransactionsChanged(new TransactionsChangedEvent(List.of(), List.of(
+                expense(1L, 10L, current, "50.00"),
+                expense(1L, 11L, current, "20.00"),
+                expense(1L, 10L, next, "30.00"))));
+
+        verify(budgetRepository).queueAlerts(current.getMonthValue(), current.getYear(),
+                BudgetThresholdMonitor.ALERT_THRESHOLD, Set.of(1L), Set.of(10L, 11L));
+        verify(budgetRepository).queueAlerts(next.getMonthValue(), next.getYear(),
+                BudgetThresholdMonitor.ALERT_THRESHOLD, Set.of(1L), Set.of(10L));
+        verifyNoMoreInteractions(budgetRepository);
+    }
+
+    @Test
+    void onTransactionsChanged_shouldIgnoreRowsThatCannotRaiseAnAlert() {
+        TransactionSnapshot removed = expense(1L, 10L, current, "50.00");
+        TransactionSnapshot income = new TransactionSnapshot(1L, 10L, null, TransactionType.INCOME,
+                IncomeSource.SALARY, current.atDay(5), new BigDecimal("3000.00"));
+        TransactionSnapshot uncategorized = expense(1L, null, current, "10.00");
+        TransactionSnapshot closedMonth = expense(1L, 10L, current.minusMonths(1), "10.00");
+
+        monitor.onTransactionsChanged(new TransactionsChangedEvent(
+                List.of(removed), List.of(income, uncategorized, closedMonth)));
+
+        verifyNoInteractions(budgetRepository);
+    }
+
+    @Test
+    void checkBudget_shouldSkipClosedMonths() {
+        monitor.checkBudget(1L, 10L, current.minusMonths(1));
+        monitor.checkBudget(1L, 10L, current);
+
+        verify(budgetRepository).queueAlerts(current.getMonthValue(), current.getYear(),
+                BudgetThresholdMonitor.ALERT_THRESHOLD, Set.of(1L), Set.of(10L));
+        verifyNoMoreInteractions(budgetRepository);
+    }
+
+    private static TransactionSnapshot expense(Long userId, Long categoryId, YearMonth month, String amount) {
+        return new TransactionSnapshot(userId, categoryId, null, TransactionType.EXPENSE, null,
+                month.atDay(10), new BigDecimal(amount));
+    }
+}
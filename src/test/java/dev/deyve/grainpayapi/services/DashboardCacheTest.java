@@ -0,0 +1,81 @@
+package dev.deyve.grainpayapi.services;
+
+import dev.deyve.grainpayapi.dtos.DashboardSummaryResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DashboardCacheTest {
+
+    private static final YearMonth APRIL = YearMonth.of(2024, 4);
+    private static final YearMonth MAY = YearMonth.of(2024, 5);
+
+    private SimpleMeterRegistry meterRegistry;
+    private DashboardCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new DashboardCache(100, Duration.ofMinutes(10), meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_shouldLoadOncePerUserAndMonth() {
+        DashboardSummaryResponse first = cache.get(1L, 7L, APRIL, false, this::load);
+        DashboardSummaryResponse second = cache.get(1L, 7L, APRIL, false, this::load);
+        cache.get(1L, 7L, MAY, false, this::load);
+        cache.get(2L, 7L, APRIL, false, this::load);
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(3);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", DashboardCache.CACHE_NAME).tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void get_shouldLoadAgainOnceTheUsersDataVersionMoves() {
+        cache.get(1L, 7L, APRIL, false, this::load);
+        cache.get(2L, 7L, APRIL, false, this::load);
+
+        DashboardSummaryResponse afterWrite = cache.get(1L, 8L, APRIL, false, this::load);
+        cache.get(1L, 8L, APRIL, false, this::load);
+        cache.get(2L, 7L, APRIL, false, this::load);
+
+        assertThat(afterWrite).isNotNull();
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void get_shouldKeepComparisonAndPlainSummariesApart() {
+        cache.get(1L, 7L, MAY, true, this::load);
+        cache.get(1L, 7L, MAY, false, this::load);
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void get_shouldAlwaysLoadWhenMaxSizeIsZero() {
+        cache = new DashboardCache(0, Duration.ofMinutes(10), meterRegistry);
+
+        for (int i = 0; i < 100; i++) {
+            cache.get(1L, 7L, APRIL, false, this::load);
+        }
+
+        assertThat(loads).hasValue(100);
+    }
+
+    private DashboardSummaryResponse load() {
+        loads.incrementAndGet();
+        return new DashboardSummaryResponse(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, List.of(), List.of(), null);
+    }
+}
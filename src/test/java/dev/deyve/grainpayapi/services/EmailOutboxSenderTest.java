@@ -0,0 +1,98 @@
+package dev.deyve.grainpayapi.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.deyve.grainpayapi.repositories.EmailOutboxRepository;
+import dev.deyve.grainpayapi.repositories.EmailOutboxRepository.PendingEmail;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxSenderTest {
+
+    private static final String PAYLOAD = """
+            {"userName": "Ana", "categoryName": "Mercado", "spent": 850.00, "limit": 1000.00,
+             "percentage": 85.00, "month": 4, "year": 2024}""";
+
+    @Mock
+    private EmailOutboxRepository outboxRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    private EmailOutboxSender sender;
+
+    @BeforeEach
+    void setUp() {
+        sender = new EmailOutboxSender(outboxRepository, emailService, new ObjectMapper(), Runnable::run, 2, 3);
+    }
+
+    @Test
+    void sendPending_shouldSendBudgetAlertAndMarkItSent() {
+        when(outboxRepository.claimDue(2, EmailOutboxSender.CLAIM_LEASE))
+                .thenReturn(List.of(alert(1L, 1)));
+
+        sender.sendPending();
+
+        verify(emailService).sendBudgetAlert("ana@grainpay.dev", "Ana", "Mercado", new BigDecimal("850.00"),
+                new BigDecimal("1000.00"), new BigDecimal("85.00"), 4, 2024);
+        verify(outboxRepository).markSent(1L);
+    }
+
+    @Test
+    void sendPending_shouldClaimAgainWhileBatchesComeBackFull() {
+        when(outboxRepository.claimDue(2, EmailOutboxSender.CLAIM_LEASE))
+                .thenReturn(List.of(alert(1L, 1), alert(2L, 1)), List.of(alert(3L, 1)));
+
+        sender.sendPending();
+
+        verify(outboxRepository, times(2)).claimDue(2, EmailOutboxSender.CLAIM_LEASE);
+        verify(outboxRepository, times(3)).markSent(anyLong());
+    }
+
+    @Test
+    void sendPending_shouldRescheduleFailedSendWithBackoff() {
+        when(outboxRepository.claimDue(2, EmailOutboxSender.CLAIM_LEASE)).thenReturn(List.of(alert(1L, 2)));
+        doThrow(new MailSendException("SMTP timeout")).when(emailService)
+                .sendBudgetAlert(any(), any(), any(), any(), any(), any(), anyInt(), anyInt());
+
+        sender.sendPending();
+
+        verify(outboxRepository).retryLater(1L, "SMTP timeout", Duration.ofMinutes(2));
+        verify(outboxRepository, never()).markSent(anyLong());
+    }
+
+    @Test
+    void sendPending_shouldMarkFailedAfterLastAttempt() {
+        when(outboxRepository.claimDue(2, EmailOutboxSender.CLAIM_LEASE)).thenReturn(List.of(alert(1L, 3)));
+        doThrow(new MailSendException("SMTP timeout")).when(emailService)
+                .sendBudgetAlert(any(), any(), any(), any(), any(), any(), anyInt(), anyInt());
+
+        sender.sendPending();
+
+        verify(outboxRepository).markFailed(1L, "SMTP timeout");
+        verify(outboxRepository, never()).retryLater(anyLong(), any(), any());
+    }
+
+    @Test
+    void backoff_shouldDoubleUpToCap() {
+        assertThat(EmailOutboxSender.backoff(1)).isEqualTo(Duration.ofMinutes(1));
+        assertThat(EmailOutboxSender.backoff(4)).isEqualTo(Duration.ofMinutes(8));
+        assertThat(EmailOutboxSender.backoff(30)).isEqualTo(EmailOutboxSender.MAX_BACKOFF);
+    }
+
+    private static PendingEmail alert(long id, int attempts) {
+        return new PendingEmail(id, EmailOutboxSender.BUDGET_ALERT, "ana@grainpay.dev", PAYLOAD, attempts);
+    }
+}
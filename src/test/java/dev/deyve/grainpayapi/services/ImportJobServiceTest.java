@@ -0,0 +1,214 @@
+package dev.deyve.grainpayapi.services;
+
+import dev.deyve.grainpayapi.dtos.ImportJobResponse;
+import dev.deyve.grainpayapi.dtos.ImportResultResponse;
+import dev.deyve.grainpayapi.dtos.ImportRowError;
+import dev.deyve.grainpayapi.exceptions.ImportJobNotFoundException;
+import dev.deyve.grainpayapi.exceptions.ImportQueueFullException;
+import dev.deyve.grainpayapi.models.ImportJob;
+import dev.deyve.grainpayapi.models.ImportJobError;
+import dev.deyve.grainpayapi.models.ImportJobStatus;
+import dev.deyve.grainpayapi.models.User;
+import dev.deyve.grainpayapi.repositories.ImportJobErrorRepository;
+import dev.deyve.grainpayapi.repositories.ImportJobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ImportJobServiceTest {
+
+    private static final UUID JOB_ID = UUID.randomUUID();
+    private static final String NODE_ID = "node-a";
+
+    @Mock
+    private ImportJobRepository importJobRepository;
+
+    @Mock
+    private ImportJobErrorRepository importJobErrorRepository;
+
+    @Mock
+    private ImportService importService;
+
+    private ImportJobService importJobService;
+
+    private User user;
+
+    private final MockMultipartFile file =
+            new MockMultipartFile("file", "extrato.csv", "text/csv", "date,description,amount\n".getBytes());
+
+    @BeforeEach
+    void setUp() {
+        importJobService = new ImportJobService(importJobRepository, importJobErrorRepository, importService, new SyncTaskExecutor(),
+                NODE_ID, Duration.ofMinutes(5));
+
+        user = new User();
+        user.setId(1L);
+
+        when(importJobRepository.save(any(ImportJob.class))).thenAnswer(i -> {
+            ImportJob job = i.getArgument(0);
+            job.setId(JOB_ID);
+            return job;
+        });
+        when(importJobRepository.transition(JOB_ID, ImportJobStatus.PENDING, ImportJobStatus.RUNNING)).thenReturn(1);
+        when(importJobRepository.addProgress(eq(JOB_ID), anyInt(), anyInt(), anyInt(), anyInt())).thenReturn(1);
+        when(importJobRepository.finish(eq(JOB_ID), any(), any(), any(), any())).thenReturn(1);
+    }
+
+    @Test
+    void submit_shouldReturnPendingJobAndRunIt() {
+        ImportJobResponse response = importJobService.submit(file, user);
+
+        assertThat(response.id()).isEqualTo(JOB_ID);
+        assertThat(response.status()).isEqualTo(ImportJobStatus.PENDING);
+        assertThat(response.filename()).isEqualTo("extrato.csv");
+        verify(importJobRepository).save(argThat(job -> NODE_ID.equals(job.getOwner())));
+        verify(importService).importCsvInChunks(any(Path.class), eq(user), eq(ImportJobService.CHUNK_SIZE), any());
+        verify(importJobRepository).finish(eq(JOB_ID), eq(ImportJobStatus.RUNNING), eq(ImportJobStatus.COMPLETED), isNull(), any());
+    }
+
+    @Test
+    void submit_shouldRecordProgressOfEachChunk() {
+        doAnswer(i -> {
+            Consumer<ImportResultResponse> onChunk = i.getArgument(3);
+            onChunk.accept(new ImportResultResponse(7, 2, 1, List.of(new ImportRowError(4, "Invalid amount 'x'"))));
+            return null;
+        }).when(importService).importCsvInChunks(any(), any(), anyInt(), any());
+
+        importJobService.submit(file, user);
+
+        verify(importJobRepository).addProgress(JOB_ID, 10, 7, 2, 1);
+        ArgumentCaptor<List<ImportJobError>> captor = ArgumentCaptor.forClass(List.class);
+        verify(importJobErrorRepository).saveAll(captor.capture());
+        assertThat(captor.getValue()).singleElement()
+                .satisfies(e -> assertThat(e.getLine()).isEqualTo(4));
+    }
+
+    @Test
+    void submit_shouldStopStoringErrorsAtTheCap() {
+        List<ImportRowError> errors = IntStream.range(0, ImportJobService.MAX_STORED_ERRORS + 5)
+                .mapToObj(line -> new ImportRowError(line, "bad"))
+                .toList();
+        doAnswer(i -> {
+            Consumer<ImportResultResponse> onChunk = i.getArgument(3);
+            onChunk.accept(new ImportResultResponse(0, 0, errors.size(), errors));
+            onChunk.accept(new ImportResultResponse(0, 0, 1, List.of(new ImportRowError(9999, "bad"))));
+            return null;
+        }).when(importService).importCsvInChunks(any(), any(), anyInt(), any());
+
+        importJobService.submit(file, user);
+
+        ArgumentCaptor<List<ImportJobError>> captor = ArgumentCaptor.forClass(List.class);
+        verify(importJobErrorRepository, times(1)).saveAll(captor.capture());
+        assertThat(captor.getValue()).hasSize(ImportJobService.MAX_STORED_ERRORS);
+        verify(importJobRepository).addProgress(JOB_ID, 1, 0, 0, 1);
+    }
+
+    @Test
+    void submit_shouldMarkJobFailedWhenImportThrows() {
+        doThrow(new IllegalStateException("boom")).when(importService).importCsvInChunks(any(), any(), anyInt(), any());
+
+        importJobService.submit(file, user);
+
+        verify(importJobRepository).finish(eq(JOB_ID), eq(ImportJobStatus.RUNNING), eq(ImportJobStatus.FAILED), eq("boom"), any());
+    }
+
+    @Test
+    void submit_shouldStopWhenTheJobWasFailedAsAbandoned() {
+        when(importJobRepository.addProgress(eq(JOB_ID), anyInt(), anyInt(), anyInt(), anyInt())).thenReturn(0);
+        doAnswer(i -> {
+            Consumer<ImportResultResponse> onChunk = i.getArgument(3);
+            onChunk.accept(new ImportResultResponse(7, 0, 1, List.of(new ImportRowError(4, "Invalid amount 'x'"))));
+            return null;
+        }).when(importService).importCsvInChunks(any(), any(), anyInt(), any());
+
+        importJobService.submit(file, user);
+
+        verifyNoInteractions(importJobErrorRepository);
+        verify(importJobRepository, never()).finish(eq(JOB_ID), any(), eq(ImportJobStatus.COMPLETED), any(), any());
+    }
+
+    @Test
+    void heartbeat_shouldRefreshOwnJobsAndFailAbandonedOnes() {
+        importJobService.heartbeat();
+
+        verify(importJobRepository).heartbeat(eq(NODE_ID), any());
+        verify(importJobRepository).failAbandoned(eq(NODE_ID), any(), eq(300L), anyString(), any());
+    }
+
+    @Test
+    void submit_shouldDeleteSpoolAfterRun() {
+        Path[] spool = new Path[1];
+        doAnswer(i -> {
+            spool[0] = i.getArgument(0);
+            assertThat(Files.exists(spool[0])).isTrue();
+            return null;
+        }).when(importService).importCsvInChunks(any(), any(), anyInt(), any());
+
+        importJobService.submit(file, user);
+
+        assertThat(Files.exists(spool[0])).isFalse();
+    }
+
+    @Test
+    void submit_shouldFailFastWhenQueueIsFull() {
+        importJobService = new ImportJobService(importJobRepository, importJobErrorRepository, importService, task -> {
+            throw new TaskRejectedException("full");
+        }, NODE_ID, Duration.ofMinutes(5));
+
+        assertThatThrownBy(() -> importJobService.submit(file, user))
+                .isInstanceOf(ImportQueueFullException.class);
+        verify(importJobRepository).finish(eq(JOB_ID), eq(ImportJobStatus.PENDING), eq(ImportJobStatus.FAILED), anyString(), any());
+        verifyNoInteractions(importService);
+    }
+
+    @Test
+    void findById_shouldThrowWhenJobBelongsToAnotherUser() {
+        when(importJobRepository.findByIdAndUserId(JOB_ID, 1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> importJobService.findById(JOB_ID, user))
+                .isInstanceOf(ImportJobNotFoundException.class);
+    }
+
+    @Test
+    void findById_shouldReturnCountersAndErrors() {
+        ImportJob job = new ImportJob();
+        job.setId(JOB_ID);
+        job.setStatus(ImportJobStatus.RUNNING);
+        job.setRowsProcessed(2000);
+        job.setImported(1990);
+        job.setFailed(10);
+        when(importJobRepository.findByIdAndUserId(JOB_ID, 1L)).thenReturn(Optional.of(job));
+        when(importJobErrorRepository.findAllByJobIdOrderByLineAsc(JOB_ID))
+                .thenReturn(List.of(new ImportJobError(JOB_ID, 5, "Invalid amount 'x'")));
+
+        ImportJobResponse response = importJobService.findById(JOB_ID, user);
+
+        assertThat(response.status()).isEqualTo(ImportJobStatus.RUNNING);
+        assertThat(response.rowsProcessed()).isEqualTo(2000);
+        assertThat(response.errors()).containsExactly(new ImportRowError(5, "Invalid amount 'x'"));
+    }
+}
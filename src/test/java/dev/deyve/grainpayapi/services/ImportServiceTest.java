@@ -1,21 +1,29 @@
 package dev.deyve.grainpayapi.services;
 
 import dev.deyve.grainpayapi.dtos.ImportResultResponse;
+import dev.deyve.grainpayapi.dtos.TransactionFingerprint;
 import dev.deyve.grainpayapi.models.*;
 import dev.deyve.grainpayapi.repositories.AccountRepository;
 import dev.deyve.grainpayapi.repositories.CategoryRepository;
+import dev.deyve.grainpayapi.repositories.TransactionBulkInserter;
 import dev.deyve.grainpayapi.repositories.TransactionRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -38,6 +46,18 @@ class ImportServiceTest {
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private TransactionBulkInserter transactionBulkInserter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TenantUsageTracker tenantUsageTracker;
+
     @InjectMocks
     private ImportService importService;
 
@@ -50,8 +70,7 @@ class ImportServiceTest {
 
         when(categoryRepository.findAllByUserIdOrderByNameAsc(1L)).thenReturn(List.of());
         when(accountRepository.findAllByUserIdOrderByNameAsc(1L)).thenReturn(List.of());
-        when(transactionRepository.existsByUserIdAndDateAndAmountAndDescription(anyLong(), any(), any(), anyString()))
-                .thenReturn(false);
+        when(transactionRepository.findFingerprints(anyLong(), any(), any())).thenReturn(List.of());
     }
 
     @Test
@@ -59,8 +78,6 @@ class ImportServiceTest {
         String csv = "date,description,amount\n2024-01-15,Supermercado,-150.00\n2024-01-16,Salário,3000.00";
         MockMultipartFile file = new MockMultipartFile("file", "extrato.csv", "text/csv", csv.getBytes());
 
-        when(transactionRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
-
         ImportResultResponse result = importService.importCsv(file, user);
 
         assertThat(result.imported()).isEqualTo(2);
@@ -73,12 +90,10 @@ class ImportServiceTest {
         String csv = "date,description,amount\n2024-01-15,Supermercado,-150.00";
         MockMultipartFile file = new MockMultipartFile("file", "extrato.csv", "text/csv", csv.getBytes());
 
-        when(transactionRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
-
         importService.importCsv(file, user);
 
         ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
-        verify(transactionRepository).saveAll(captor.capture());
+        verify(transactionBulkInserter).insertAll(captor.capture());
 
         Transaction saved = captor.getValue().get(0);
         assertThat(saved.getType()).isEqualTo(TransactionType.EXPENSE);
@@ -90,12 +105,10 @@ class ImportServiceTest {
         String csv = "date,description,amount\n2024-01-16,Salário,3000.00";
         MockMultipartFile file = new MockMultipartFile("file", "extrato.csv", "text/csv", csv.getBytes());
 
-        when(transactionRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
-
         importService.importCsv(file, user);
 
         ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
-        verify(transactionRepository).saveAll(captor.capture());
+        verify(transactionBulkInserter).insertAll(captor.capture());
 
         Transaction saved = captor.getValue().get(0);
         assertThat(saved.getType()).isEqualTo(TransactionType.INCOME);
@@ -107,8 +120,6 @@ class ImportServiceTest {
         String csv = "date,description,amount\n2024-01-15,Supermercado,-150.00\ninvalid-date,Algo,100.00\n2024-01-17,Farmácia,-30.00";
         MockMultipartFile file = new MockMultipartFile("file", "extrato.csv", "text/csv", csv.getBytes());
 
-        when(transactionRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
-
         ImportResultResponse result = importService.importCsv(file, user);
 
         assertThat(result.imported()).isEqualTo(2);
@@ -122,16 +133,39 @@ class ImportServiceTest {
         String csv = "date,description,amount\n2024-01-15,Supermercado,-150.00\n2024-01-16,Salário,3000.00";
         MockMultipartFile file = new MockMultipartFile("file", "extrato.csv", "text/csv", csv.getBytes());
 
-        when(transactionRepository.existsByUserIdAndDateAndAmountAndDescription(
-                eq(1L), eq(LocalDate.of(2024, 1, 15)), eq(new BigDecimal("150.00")), eq("Supermercado")))
-                .thenReturn(true);
-        when(transactionRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
-
+        when(transactionRepository.findFingerprints(1L, LocalDate.of(2024, 1, 15), LocalDate.of(2024, 1, 16)))
+                .thenReturn(List.of(new TransactionFingerprint(LocalDate.of(2024, 1, 15), new BigDecimal("150.00"), "Supermercado")));
         ImportResultResponse result = importService.importCsv(file, user);
 
         assertThat(result.imported()).isEqualTo(1);
         assertThat(result.duplicates()).isEqualTo(1);
         assertThat(result.failed()).isEqualTo(0);
+        verify(transactionRepository, times(1)).findFingerprints(anyLong(), any(), any());
+    }
+
+    @Test
+    void importCsv_shouldMatchDuplicateRegardlessOfAmountScale() {
+        String csv = "date,description,amount\n2024-01-15,Supermercado,-150";
+        MockMultipartFile file = new MockMultipartFile("file", "extrato.csv", "text/csv", csv.getBytes());
+
+        when(transactionRepository.findFingerprints(anyLong(), any(), any()))
+                .thenReturn(List.of(new TransactionFingerprint(LocalDate.of(2024, 1, 15), new BigDecimal("150.00"), "Supermercado")));
+
+        ImportResultResponse result = importService.importCsv(file, user);
+
+        assertThat(result.imported()).isEqualTo(0);
+        assertThat(result.duplicates()).isEqualTo(1);
+    }
+
+    @Test
+    void importCsv_shouldSkipDuplicatesWithinTheFile() {
+        String csv = "date,description,amount\n2024-01-15,Supermercado,-150.00\n2024-01-15,Supermercado,-150.0\n2024-01-16,Salário,3000.00";
+        MockMultipartFile file = new MockMultipartFile("file", "extrato.csv", "text/csv", csv.getBytes());
+
+        ImportResultResponse result = importService.importCsv(file, user);
+
+        assertThat(result.imported()).isEqualTo(2);
+        assertThat(result.duplicates()).isEqualTo(1);
     }
 
     @Test
@@ -145,12 +179,10 @@ class ImportServiceTest {
         String csv = "date,description,amount\n2024-01-15,Supermercado alimentação,-80.00";
         MockMultipartFile file = new MockMultipartFile("file", "extrato.csv", "text/csv", csv.getBytes());
 
-        when(transactionRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
-
         importService.importCsv(file, user);
 
         ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
-        verify(transactionRepository).saveAll(captor.capture());
+        verify(transactionBulkInserter).insertAll(captor.capture());
 
         assertThat(captor.getValue().get(0).getCategory()).isEqualTo(alimentacao);
     }
@@ -166,12 +198,10 @@ class ImportServiceTest {
         String csv = "date,description,amount\n2024-01-15,Compra Nubank cartão,-200.00";
         MockMultipartFile file = new MockMultipartFile("file", "extrato.csv", "text/csv", csv.getBytes());
 
-        when(transactionRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
-
         importService.importCsv(file, user);
 
         ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
-        verify(transactionRepository).saveAll(captor.capture());
+        verify(transactionBulkInserter).insertAll(captor.capture());
 
         assertThat(captor.getValue().get(0).getAccount()).isEqualTo(nubank);
     }
@@ -181,12 +211,10 @@ class ImportServiceTest {
         String csv = "date,description,amount\n2024-01-15,Compra genérica,-50.00";
         MockMultipartFile file = new MockMultipartFile("file", "extrato.csv", "text/csv", csv.getBytes());
 
-        when(transactionRepository.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
-
         importService.importCsv(file, user);
 
         ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
-        verify(transactionRepository).saveAll(captor.capture());
+        verify(transactionBulkInserter).insertAll(captor.capture());
 
         assertThat(captor.getValue().get(0).getCategory()).isNull();
         assertThat(captor.getValue().get(0).getAccount()).isNull();
@@ -201,7 +229,7 @@ class ImportServiceTest {
 
         assertThat(result.imported()).isEqualTo(0);
         assertThat(result.failed()).isEqualTo(1);
-        verify(transactionRepository, never()).saveAll(anyList());
+        verify(transactionBulkInserter, never()).insertAll(anyList());
     }
 
     @Test
@@ -213,4 +241,21 @@ class ImportServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Failed to read CSV file");
     }
+
+    @Test
+    void importCsvInChunks_shouldCommitEachChunkWithItsCounts(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("extrato.csv");
+        Files.writeString(file, "date,description,amount\n2024-01-15,Supermercado,-150.00\ninvalid-date,Algo,100.00\n2024-01-17,Farmácia,-30.00");
+
+        List<ImportResultResponse> chunks = new ArrayList<>();
+        importService.importCsvInChunks(file, user, 2, chunks::add);
+
+        assertThat(chunks).hasSize(2);
+        assertThat(chunks.get(0).imported()).isEqualTo(1);
+        assertThat(chunks.get(0).failed()).isEqualTo(1);
+        assertThat(chunks.get(0).errors().get(0).line()).isEqualTo(3);
+        assertThat(chunks.get(1).imported()).isEqualTo(1);
+        verify(transactionManager, times(2)).commit(any());
+        verify(transactionBulkInserter, times(2)).insertAll(anyList());
+    }
 }
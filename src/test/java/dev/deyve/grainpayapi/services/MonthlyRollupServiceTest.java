@@ -0,0 +1,95 @@
+package dev.deyve.grainpayapi.services;
+
+import dev.deyve.grainpayapi.events.TransactionSnapshot;
+import dev.deyve.grainpayapi.events.TransactionsChangedEvent;
+import dev.deyve.grainpayapi.models.IncomeSource;
+import dev.deyve.grainpayapi.models.TransactionType;
+import dev.deyve.grainpayapi.repositories.MonthlyRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MonthlyRollupServiceTest {
+
+    @Mock
+    private MonthlyRollupRepository monthlyRollupRepository;
+
+    @Mock
+    private UserDataVersionService dataVersionService;
+
+    @InjectMocks
+    private MonthlyRollupService monthlyRollupService;
+
+    @Test
+    void onTransactionsChanged_shouldAggregateAddedRowsPerKey() {
+        TransactionSnapshot groceries = expense(10L, "2024-04-03", "50.00");
+        TransactionSnapshot moreGroceries = expense(10L, "2024-04-20", "25.50");
+
+        monthlyRollupService.onTransactionsChanged(
+                new TransactionsChangedEvent(List.of(), List.of(groceries, moreGroceries)));
+
+        verify(monthlyRollupRepository).addDelta(1L, 2024, 4, "EXPENSE", 10L, null, new BigDecimal("75.50"), 2L);
+        verifyNoMoreInteractions(monthlyRollupRepository);
+    }
+
+    @Test
+    void onTransactionsChanged_shouldMoveTotalsWhenCategoryChanges() {
+        TransactionSnapshot before = expense(10L, "2024-04-03", "50.00");
+        TransactionSnapshot after = expense(20L, "2024-04-03", "50.00");
+
+        monthlyRollupService.onTransactionsChanged(new TransactionsChangedEvent(List.of(before), List.of(after)));
+
+        InOrder inOrder = inOrder(monthlyRollupRepository);
+        inOrder.verify(monthlyRollupRepository).addDelta(1L, 2024, 4, "EXPENSE", 10L, null, new BigDecimal("-50.00"), -1L);
+        inOrder.verify(monthlyRollupRepository).addDelta(1L, 2024, 4, "EXPENSE", 20L, null, new BigDecimal("50.00"), 1L);
+    }
+
+    @Test
+    void onTransactionsChanged_shouldSkipUpdateThatKeepsTheSameKeyAndAmount() {
+        TransactionSnapshot salary = new TransactionSnapshot(1L, null, null, TransactionType.INCOME,
+                IncomeSource.SALARY, LocalDate.parse("2024-04-05"), new BigDecimal("3000.00"));
+
+        monthlyRollupService.onTransactionsChanged(new TransactionsChangedEvent(List.of(salary), List.of(salary)));
+
+        verify(monthlyRollupRepository, never()).addDelta(any(), any(), any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void onTransactionsChanged_shouldApplyAmountChangeWithoutCountChange() {
+        TransactionSnapshot before = expense(10L, "2024-04-03", "50.00");
+        TransactionSnapshot after = expense(10L, "2024-04-03", "80.00");
+
+        monthlyRollupService.onTransactionsChanged(new TransactionsChangedEvent(List.of(before), List.of(after)));
+
+        verify(monthlyRollupRepository).addDelta(1L, 2024, 4, "EXPENSE", 10L, null, new BigDecimal("30.00"), 0L);
+    }
+
+    @Test
+    void rebuild_shouldBumpTheVersionOfUsersWhoseRollupsDrifted() {
+        when(monthlyRollupRepository.findDriftedUserIds()).thenReturn(List.of(1L, 4L));
+
+        monthlyRollupService.rebuild();
+
+        InOrder inOrder = inOrder(monthlyRollupRepository, dataVersionService);
+        inOrder.verify(monthlyRollupRepository).lockForRebuild();
+        inOrder.verify(monthlyRollupRepository).findDriftedUserIds();
+        inOrder.verify(monthlyRollupRepository).insertFromTransactions();
+        inOrder.verify(dataVersionService).bump(List.of(1L, 4L));
+    }
+
+    private TransactionSnapshot expense(Long categoryId, String date, String amount) {
+        return new TransactionSnapshot(1L, categoryId, null, TransactionType.EXPENSE, null,
+                LocalDate.parse(date), new BigDecimal(amount));
+    }
+}
@@ -0,0 +1,89 @@
+package dev.deyve.grainpayapi.services;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NameMatcherTest {
+
+    @Test
+    void match_shouldIgnoreCase() {
+        NameMatcher<String> matcher = NameMatcher.compile(List.of("Alimentação"), Function.identity());
+
+        assertThat(matcher.match("SUPERMERCADO ALIMENTAÇÃO")).isEqualTo("Alimentação");
+    }
+
+    @Test
+    void match_shouldReturnNullWithoutMatch() {
+        NameMatcher<String> matcher = NameMatcher.compile(List.of("Transporte", "Saúde"), Function.identity());
+
+        assertThat(matcher.match("Compra genérica")).isNull();
+    }
+
+    @Test
+    void match_shouldPreferLongestName() {
+        NameMatcher<String> matcher = NameMatcher.compile(List.of("Nubank", "Cartão Nubank", "Inter"), Function.identity());
+
+        assertThat(matcher.match("Pagamento cartão nubank internacional")).isEqualTo("Cartão Nubank");
+    }
+
+    @Test
+    void match_shouldBreakLengthTiesByListOrder() {
+        NameMatcher<String> matcher = NameMatcher.compile(List.of("Lazer", "Saúde"), Function.identity());
+
+        assertThat(matcher.match("Saúde e lazer")).isEqualTo("Lazer");
+    }
+
+    @Test
+    void match_shouldFindNamesInsideOtherNames() {
+        NameMatcher<String> matcher = NameMatcher.compile(List.of("she", "he", "hers", "his"), Function.identity());
+
+        assertThat(matcher.match("ushe")).isEqualTo("she");
+        assertThat(matcher.match("xhersx")).isEqualTo("hers");
+        assertThat(matcher.match("ahishe")).isEqualTo("she");
+        assertThat(matcher.match("ahis")).isEqualTo("his");
+    }
+
+    @Test
+    void match_shouldIgnoreBlankNames() {
+        NameMatcher<String> matcher = NameMatcher.compile(List.of("", "  ", "Mercado"), Function.identity());
+
+        assertThat(matcher.match("Posto")).isNull();
+        assertThat(matcher.match("Mercado central")).isEqualTo("Mercado");
+    }
+
+    @Test
+    void match_shouldAgreeWithNaiveScan() {
+        Random random = new Random(42);
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            names.add(randomWord(random, 1 + random.nextInt(5)));
+        }
+        NameMatcher<String> matcher = NameMatcher.compile(names, Function.identity());
+
+        for (int i = 0; i < 2000; i++) {
+            String text = randomWord(random, random.nextInt(30));
+            String expected = names.stream()
+                    .filter(n -> text.toLowerCase().contains(n.toLowerCase()))
+                    .min(Comparator.comparingInt(String::length).reversed().thenComparingInt(names::indexOf))
+                    .orElse(null);
+
+            assertThat(matcher.match(text)).as(text).isEqualTo(expected);
+        }
+    }
+
+    private static String randomWord(Random random, int length) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            char c = (char) ('a' + random.nextInt(3));
+            word.append(random.nextBoolean() ? Character.toUpperCase(c) : c);
+        }
+        return word.toString();
+    }
+}
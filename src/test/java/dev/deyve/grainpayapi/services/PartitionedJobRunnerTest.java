@@ -0,0 +1,98 @@
+package dev.deyve.grainpayapi.services;
+
+import dev.deyve.grainpayapi.repositories.JobPartitionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PartitionedJobRunnerTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    @Mock
+    private JobPartitionRepository jobPartitionRepository;
+
+    private PartitionedJobRunner runner;
+
+    @BeforeEach
+    void setUp() {
+        runner = new PartitionedJobRunner(jobPartitionRepository, "node-a", 4, LEASE);
+    }
+
+    @Test
+    void runPending_shouldProcessClaimedPartitionsUntilNoneIsLeft() {
+        when(jobPartitionRepository.claim("job", "2024-04-10", "node-a", LEASE)).thenReturn(2, 3, null);
+        when(jobPartitionRepository.complete(eq("job"), anyInt(), eq("2024-04-10"), eq("node-a"))).thenReturn(true);
+        List<Integer> processed = new ArrayList<>();
+
+        int completed = runner.runPending("job", "2024-04-10", (partition, partitions) -> {
+            assertThat(partitions).isEqualTo(4);
+            processed.add(partition);
+        });
+
+        assertThat(completed).isEqualTo(2);
+        assertThat(processed).containsExactly(2, 3);
+        verify(jobPartitionRepository).ensurePartitions("job", 4);
+    }
+
+    @Test
+    void runPending_shouldLeaveFailedPartitionLeasedAndContinue() {
+        when(jobPartitionRepository.claim("job", "run", "node-a", LEASE)).thenReturn(0, 1, null);
+        when(jobPartitionRepository.complete("job", 1, "run", "node-a")).thenReturn(true);
+
+        int completed = runner.runPending("job", "run", (partition, partitions) -> {
+            if (partition == 0) throw new IllegalStateException("boom");
+        });
+
+        assertThat(completed).isEqualTo(1);
+        verify(jobPartitionRepository, never()).complete("job", 0, "run", "node-a");
+    }
+
+    @Test
+    void runPending_shouldNotCountPartitionWhoseLeaseWasLost() {
+        when(jobPartitionRepository.claim("job", "run", "node-a", LEASE)).thenReturn(0, (Integer) null);
+        when(jobPartitionRepository.complete("job", 0, "run", "node-a")).thenReturn(false);
+
+        assertThat(runner.runPending("job", "run", (partition, partitions) -> {
+        })).isZero();
+    }
+
+    @Test
+    void runPending_shouldCreatePartitionsOncePerJob() {
+        when(jobPartitionRepository.claim(any(), any(), any(), any())).thenReturn(null);
+
+        runner.runPending("job", "run-1", (partition, partitions) -> {
+        });
+        runner.runPending("job", "run-2", (partition, partitions) -> {
+        });
+
+        verify(jobPartitionRepository, times(1)).ensurePartitions("job", 4);
+    }
+
+    @Test
+    void runPending_shouldRunUnsplittableJobOnASinglePartition() {
+        when(jobPartitionRepository.claim("rollups", "2024-04-10", "node-a", LEASE)).thenReturn(0, (Integer) null);
+        when(jobPartitionRepository.complete("rollups", 0, "2024-04-10", "node-a")).thenReturn(true);
+        List<Integer> processed = new ArrayList<>();
+
+        int completed = runner.runPending("rollups", "2024-04-10", 1, (partition, partitions) -> {
+            assertThat(partitions).isEqualTo(1);
+            processed.add(partition);
+        });
+
+        assertThat(completed).isEqualTo(1);
+        assertThat(processed).containsExactly(0);
+        verify(jobPartitionRepository).ensurePartitions("rollups", 1);
+    }
+}
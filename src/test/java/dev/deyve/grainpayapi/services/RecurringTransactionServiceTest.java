@@ -0,0 +1,162 @@
+package dev.deyve.grainpayapi.services;
+
+import dev.deyve.grainpayapi.events.TransactionsChangedEvent;
+import dev.deyve.grainpayapi.mappers.RecurringTransactionMapper;
+import dev.deyve.grainpayapi.models.*;
+import dev.deyve.grainpayapi.repositories.*;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RecurringTransactionServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.parse("2024-04-10");
+
+    @Mock
+    private RecurringTransactionRepository recurringTransactionRepository;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionBulkInserter transactionBulkInserter;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private RecurringTransactionMapper mapper;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private RecurringTransactionService recurringTransactionService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setId(1L);
+    }
+
+    @Test
+    void materializeDue_shouldCatchUpEveryMissedOccurrence() {
+        RecurringTransaction daily = rule(1L, RecurrenceType.DAILY, "2024-01-01", LocalDate.parse("2024-04-07"));
+        when(recurringTransactionRepository.lockDueChunk(eq(0L), eq(TODAY), eq(0), eq(1), anyInt())).thenReturn(List.of(daily));
+        when(recurringTransactionRepository.lockDueChunk(eq(1L), eq(TODAY), eq(0), eq(1), anyInt())).thenReturn(List.of());
+
+        int created = recurringTransactionService.materializeDue(TODAY, 0, 1);
+
+        assertThat(created).isEqualTo(3);
+        assertThat(inserted()).extracting(Transaction::getDate)
+                .containsExactly(LocalDate.parse("2024-04-08"), LocalDate.parse("2024-04-09"), TODAY);
+        assertThat(inserted()).allSatisfy(t -> {
+            assertThat(t.getRecurringTransactionId()).isEqualTo(1L);
+            assertThat(t.getIsRecurring()).isTrue();
+        });
+        verify(recurringTransactionRepository).advanceWatermark(List.of(1L), TODAY);
+        verify(eventPublisher).publishEvent(any(TransactionsChangedEvent.class));
+    }
+
+    @Test
+    void materializeDue_shouldSkipOccurrencesThatAlreadyExist() {
+        RecurringTransaction daily = rule(1L, RecurrenceType.DAILY, "2024-04-09", null);
+        when(recurringTransactionRepository.lockDueChunk(eq(0L), eq(TODAY), eq(0), eq(1), anyInt())).thenReturn(List.of(daily));
+        when(recurringTransactionRepository.lockDueChunk(eq(1L), eq(TODAY), eq(0), eq(1), anyInt())).thenReturn(List.of());
+        List<Object[]> existing = new ArrayList<>();
+        existing.add(new Object[]{1L, LocalDate.parse("2024-04-09")});
+        when(transactionRepository.findRecurringOccurrences(List.of(1L), LocalDate.parse("2024-04-09"))).thenReturn(existing);
+
+        int created = recurringTransactionService.materializeDue(TODAY, 0, 1);
+
+        assertThat(created).isEqualTo(1);
+        assertThat(inserted()).extracting(Transaction::getDate).containsExactly(TODAY);
+    }
+
+    @Test
+    void materializeDue_shouldStopAtEndDateAndOnlyMatchingDays() {
+        RecurringTransaction monthly = rule(1L, RecurrenceType.MONTHLY, "2024-01-05", LocalDate.parse("2024-01-31"));
+        monthly.setEndDate(LocalDate.parse("2024-03-31"));
+        when(recurringTransactionRepository.lockDueChunk(eq(0L), eq(TODAY), eq(0), eq(1), anyInt())).thenReturn(List.of(monthly));
+        when(recurringTransactionRepository.lockDueChunk(eq(1L), eq(TODAY), eq(0), eq(1), anyInt())).thenReturn(List.of());
+
+        recurringTransactionService.materializeDue(TODAY, 0, 1);
+
+        assertThat(inserted()).extracting(Transaction::getDate)
+                .containsExactly(LocalDate.parse("2024-02-05"), LocalDate.parse("2024-03-05"));
+    }
+
+    @Test
+    void materializeDue_shouldAdvanceWatermarkWithoutEventWhenNothingIsDue() {
+        RecurringTransaction weekly = rule(1L, RecurrenceType.WEEKLY, "2024-04-01", LocalDate.parse("2024-04-08"));
+        when(recurringTransactionRepository.lockDueChunk(eq(0L), eq(TODAY), eq(0), eq(1), anyInt())).thenReturn(List.of(weekly));
+        when(recurringTransactionRepository.lockDueChunk(eq(1L), eq(TODAY), eq(0), eq(1), anyInt())).thenReturn(List.of());
+
+        int created = recurringTransactionService.materializeDue(TODAY, 0, 1);
+
+        assertThat(created).isZero();
+        verify(recurringTransactionRepository).advanceWatermark(List.of(1L), TODAY);
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void materializeDue_shouldPageRulesByLastIdOfEachChunk() {
+        when(recurringTransactionRepository.lockDueChunk(eq(0L), eq(TODAY), eq(0), eq(1), anyInt()))
+                .thenReturn(List.of(rule(3L, RecurrenceType.DAILY, "2024-04-10", null),
+                        rule(8L, RecurrenceType.DAILY, "2024-04-10", null)));
+        when(recurringTransactionRepository.lockDueChunk(eq(8L), eq(TODAY), eq(0), eq(1), anyInt()))
+                .thenReturn(List.of(rule(12L, RecurrenceType.DAILY, "2024-04-10", null)));
+        when(recurringTransactionRepository.lockDueChunk(eq(12L), eq(TODAY), eq(0), eq(1), anyInt())).thenReturn(List.of());
+
+        int created = recurringTransactionService.materializeDue(TODAY, 0, 1);
+
+        assertThat(created).isEqualTo(3);
+        verify(transactionBulkInserter, times(2)).insertAll(anyList());
+        verify(recurringTransactionRepository).advanceWatermark(List.of(3L, 8L), TODAY);
+        verify(recurringTransactionRepository).advanceWatermark(List.of(12L), TODAY);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Transaction> inserted() {
+        ArgumentCaptor<List<Transaction>> captor = ArgumentCaptor.forClass(List.class);
+        verify(transactionBulkInserter, atLeastOnce()).insertAll(captor.capture());
+        return captor.getAllValues().stream().flatMap(List::stream).toList();
+    }
+
+    private RecurringTransaction rule(Long id, RecurrenceType recurrence, String startDate, LocalDate watermark) {
+        RecurringTransaction rt = new RecurringTransaction();
+        rt.setId(id);
+        rt.setDescription("Aluguel");
+        rt.setAmount(new BigDecimal("1200.00"));
+        rt.setType(TransactionType.EXPENSE);
+        rt.setRecurrenceType(recurrence);
+        rt.setStartDate(LocalDate.parse(startDate));
+        rt.setLastMaterializedDate(watermark);
+        rt.setUser(user);
+        return rt;
+    }
+}
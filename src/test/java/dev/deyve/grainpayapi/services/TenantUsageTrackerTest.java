@@ -0,0 +1,105 @@
+package dev.deyve.grainpayapi.services;
+
+import dev.deyve.grainpayapi.dtos.TenantUsageResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class TenantUsageTrackerTest {
+
+    private MutableClock clock;
+    private TenantUsageTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2026-01-01T10:00:00Z"));
+        tracker = new TenantUsageTracker(Duration.ofHours(1), clock);
+    }
+
+    @Test
+    void top_shouldRankUsersByTheChosenMetric() throws Exception {
+        tracker.recordRequest(1L, 3, 10, Duration.ofMillis(50).toNanos());
+        tracker.recordRequest(1L, 2, 5, Duration.ofMillis(30).toNanos());
+        tracker.recordRequest(2L, 40, 9000, Duration.ofMillis(20).toNanos());
+        tracker.recordImportRows(3L, 1000);
+        try (OutputStream out = tracker.countingExportBytes(2L, new ByteArrayOutputStream())) {
+            out.write(new byte[512]);
+        }
+
+        assertThat(tracker.top(10, TenantUsageTracker.Metric.DB_TIME))
+                .extracting(TenantUsageResponse::userId)
+                .containsExactly(1L, 2L, 3L);
+        assertThat(tracker.top(1, TenantUsageTracker.Metric.ROWS))
+                .containsExactly(new TenantUsageResponse(2L, 1, 20, 40, 9000, 0, 512));
+        assertThat(tracker.top(1, TenantUsageTracker.Metric.IMPORT_ROWS))
+                .extracting(TenantUsageResponse::userId)
+                .containsExactly(3L);
+        assertThat(tracker.top(10, TenantUsageTracker.Metric.REQUESTS).getFirst())
+                .isEqualTo(new TenantUsageResponse(1L, 2, 80, 5, 15, 0, 0));
+    }
+
+    @Test
+    void top_shouldOnlyCountUsageWithinTheWindow() {
+        tracker.recordRequest(1L, 1, 1, 0);
+        clock.advance(Duration.ofMinutes(30));
+        tracker.recordRequest(1L, 1, 1, 0);
+        tracker.recordRequest(2L, 1, 1, 0);
+
+        assertThat(tracker.top(10, TenantUsageTracker.Metric.REQUESTS))
+                .extracting(TenantUsageResponse::requests)
+                .containsExactly(2L, 1L);
+
+        clock.advance(Duration.ofMinutes(45));
+
+        assertThat(tracker.top(10, TenantUsageTracker.Metric.REQUESTS))
+                .extracting(TenantUsageResponse::userId, TenantUsageResponse::requests)
+                .containsExactlyInAnyOrder(
+                        tuple(1L, 1L),
+                        tuple(2L, 1L));
+
+        clock.advance(Duration.ofHours(1));
+        tracker.recordRequest(3L, 1, 1, 0);
+
+        assertThat(tracker.top(10, TenantUsageTracker.Metric.REQUESTS))
+                .extracting(TenantUsageResponse::userId)
+                .containsExactly(3L);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
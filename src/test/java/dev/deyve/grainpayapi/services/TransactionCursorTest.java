@@ -0,0 +1,26 @@
+package dev.deyve.grainpayapi.services;
+
+import dev.deyve.grainpayapi.exceptions.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TransactionCursorTest {
+
+    @Test
+    void decode_shouldRoundTripEncodedCursor() {
+        TransactionCursor cursor = new TransactionCursor(LocalDate.of(2024, 1, 6), 16L);
+
+        assertThat(TransactionCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void decode_shouldRejectMalformedToken() {
+        assertThatThrownBy(() -> TransactionCursor.decode("not-a-cursor"))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("Invalid cursor");
+    }
+}
@@ -0,0 +1,38 @@
+package dev.deyve.grainpayapi.services;
+
+import dev.deyve.grainpayapi.dtos.TransactionFilter;
+import dev.deyve.grainpayapi.exceptions.BadRequestException;
+import dev.deyve.grainpayapi.models.User;
+import dev.deyve.grainpayapi.repositories.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionServiceTest {
+
+    private static final TransactionFilter NO_FILTER = new TransactionFilter(null, null, null, null, null, null, null);
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @InjectMocks
+    private TransactionService transactionService;
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -1, TransactionService.MAX_CURSOR_PAGE_SIZE + 1, Integer.MAX_VALUE})
+    void findAllByCursor_shouldRejectPageSizeOutOfRange(int size) {
+        assertThatThrownBy(() -> transactionService.findAllByCursor(NO_FILTER, new User(), "", size))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Page size must be between 1 and 100");
+
+        verifyNoInteractions(transactionRepository);
+    }
+}